@@ -0,0 +1,170 @@
+package com.scaffold.maven;
+
+import com.scaffold.api.ScaffoldManifest;
+import com.scaffold.api.Scaffolder;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * Generates the sources described by a scaffold manifest and adds them to the compile source roots,
+ * and the generated migrations to the resources.
+ *
+ * Generation is skipped when the manifest and the plugin version are unchanged since the last run
+ * (a fingerprint is stored next to the generated sources), or when an incremental IDE build reports
+ * no change to the manifest. Compiled templates are kept in static caches of the plugin class realm,
+ * so every module of a reactor build reuses them.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+    private static final String FINGERPRINT_FILE = ".scaffold-fingerprint";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    @Parameter(defaultValue = "${plugin}", readonly = true, required = true)
+    private PluginDescriptor plugin;
+
+    /**
+     * YAML or JSON manifest describing the entities to generate.
+     */
+    @Parameter(property = "scaffold.manifest", defaultValue = "${project.basedir}/src/main/scaffold/scaffold.yml")
+    private File manifest;
+
+    @Parameter(property = "scaffold.outputDirectory",
+        defaultValue = "${project.build.directory}/generated-sources/spring-scaffold")
+    private File outputDirectory;
+
+    @Parameter(property = "scaffold.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Component
+    private BuildContext buildContext;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping Spring Scaffold generation");
+            return;
+        }
+        if (!manifest.isFile()) {
+            getLog().info("No scaffold manifest at " + manifest + ", nothing to generate");
+            return;
+        }
+
+        Path output = outputDirectory.toPath();
+        Scaffolder scaffolder = new Scaffolder(output);
+        project.addCompileSourceRoot(scaffolder.getSourceRoot().toString());
+        Resource resources = new Resource();
+        resources.setDirectory(scaffolder.getResourceRoot().toString());
+        project.addResource(resources);
+
+        if (buildContext.isIncremental() && !buildContext.hasDelta(manifest)) {
+            getLog().debug("Scaffold manifest unchanged in incremental build");
+            return;
+        }
+
+        try {
+            String fingerprint = fingerprint(manifest.toPath());
+            Path fingerprintFile = output.resolve(FINGERPRINT_FILE);
+            if (Files.isRegularFile(fingerprintFile)
+                    && fingerprint.equals(Files.readString(fingerprintFile, StandardCharsets.UTF_8))) {
+                getLog().info("Scaffolded sources are up to date");
+                return;
+            }
+
+            buildContext.removeMessages(manifest);
+            ScaffoldManifest scaffoldManifest = loadManifest();
+
+            // Generators never overwrite files, so stale output is removed first. The fingerprint file marks
+            // the directory as ours before anything is generated, so a failed run can still be cleaned up.
+            clean(output);
+            Files.createDirectories(output);
+            Files.writeString(fingerprintFile, "", StandardCharsets.UTF_8);
+            Scaffolder.Result result = scaffolder.generate(scaffoldManifest);
+            if (!result.isSuccessful()) {
+                throw new MojoExecutionException("Failed to generate " + String.join(", ", result.failures()));
+            }
+
+            Files.writeString(fingerprintFile, fingerprint, StandardCharsets.UTF_8);
+            buildContext.refresh(outputDirectory);
+            getLog().info("Generated " + result.files() + " files for " + scaffoldManifest.getEntities().size()
+                + " entities into " + scaffolder.getSourceRoot());
+
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MojoExecutionException("Cannot generate sources from " + manifest + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ScaffoldManifest loadManifest() throws MojoExecutionException {
+        try {
+            return ScaffoldManifest.load(manifest.toPath());
+        } catch (IOException | IllegalArgumentException e) {
+            buildContext.addMessage(manifest, 0, 0, e.getMessage(), BuildContext.SEVERITY_ERROR, e);
+            throw new MojoExecutionException("Invalid scaffold manifest " + manifest + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String fingerprint(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(plugin.getVersion().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Empties the output directory, but only when it holds this plugin's fingerprint file: a misconfigured
+     * outputDirectory pointing at sources or the project root is refused instead of deleted.
+     */
+    private static void clean(Path output) throws IOException, MojoExecutionException {
+        if (!Files.exists(output)) {
+            return;
+        }
+        if (!Files.isDirectory(output)) {
+            throw new MojoExecutionException("Output directory " + output + " is not a directory");
+        }
+        try (Stream<Path> entries = Files.list(output)) {
+            if (entries.findAny().isEmpty()) {
+                return;
+            }
+        }
+        if (!Files.isRegularFile(output.resolve(FINGERPRINT_FILE))) {
+            throw new MojoExecutionException("Refusing to delete " + output + ": it is not empty and has no "
+                + FINGERPRINT_FILE + ", so it was not created by spring-scaffold. Point outputDirectory at a "
+                + "directory used only for generated sources.");
+        }
+        deleteRecursively(output);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.scaffold.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the generate goal
+ */
+public class GenerateMojoTest {
+
+    private static final String MANIFEST = String.join("\n",
+        "basePackage: com.example",
+        "entities:",
+        "  - name: Product",
+        "    fields: [ \"name:String:120\", \"price:BigDecimal\" ]",
+        "");
+
+    @Test
+    @DisplayName("Generate should write the sources once and regenerate them when the manifest changes")
+    public void testGenerate(@TempDir Path tempDir) throws Exception {
+        Path manifest = Files.writeString(tempDir.resolve("scaffold.yml"), MANIFEST);
+        Path output = tempDir.resolve("target/generated-sources/spring-scaffold");
+
+        mojo(manifest, output).execute();
+        Path product = output.resolve("src/main/java/com/example/model/Product.java");
+        assertTrue(Files.isRegularFile(product), "Missing " + product);
+        assertTrue(Files.isRegularFile(output.resolve(".scaffold-fingerprint")));
+
+        Path stale = Files.writeString(output.resolve("src/main/java/com/example/model/Stale.java"),
+            "class Stale {}");
+        mojo(manifest, output).execute();
+        assertTrue(Files.exists(stale), "Unchanged manifest should skip generation");
+
+        Files.writeString(manifest, MANIFEST.replace("Product", "Item"));
+        mojo(manifest, output).execute();
+        assertFalse(Files.exists(stale));
+        assertFalse(Files.exists(product));
+        assertTrue(Files.isRegularFile(output.resolve("src/main/java/com/example/model/Item.java")));
+    }
+
+    @Test
+    @DisplayName("Generate should refuse to delete a directory it did not create")
+    public void testRefusesForeignDirectory(@TempDir Path tempDir) throws Exception {
+        Path manifest = Files.writeString(tempDir.resolve("scaffold.yml"), MANIFEST);
+        Path sources = Files.createDirectories(tempDir.resolve("src/main/java"));
+        Path handwritten = Files.writeString(sources.resolve("Application.java"), "class Application {}");
+
+        MojoExecutionException error = assertThrows(MojoExecutionException.class,
+            () -> mojo(manifest, sources).execute());
+        assertTrue(error.getMessage().contains("Refusing to delete"));
+        assertTrue(Files.exists(handwritten));
+    }
+
+    private static GenerateMojo mojo(Path manifest, Path output) throws Exception {
+        PluginDescriptor plugin = new PluginDescriptor();
+        plugin.setVersion("test");
+        GenerateMojo mojo = new GenerateMojo();
+        set(mojo, "project", new MavenProject());
+        set(mojo, "plugin", plugin);
+        set(mojo, "manifest", manifest.toFile());
+        set(mojo, "outputDirectory", output.toFile());
+        set(mojo, "buildContext", new DefaultBuildContext());
+        return mojo;
+    }
+
+    private static void set(GenerateMojo mojo, String name, Object value) throws Exception {
+        Field field = GenerateMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -1,10 +1,14 @@
 package com.scaffold;
 
 import com.scaffold.commands.*;
+import com.scaffold.templates.RenderCache;
+import com.scaffold.templates.TemplateEngine;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
+import java.nio.file.Path;
+
 @Command(
     name = "spring-scaffold",
     mixinStandardHelpOptions = true,
@@ -21,7 +25,9 @@ import picocli.CommandLine.Option;
         "  service    - Generate service classes with interfaces",
         "  repository - Generate JPA repositories with custom queries",
         "  security   - Generate Spring Security configuration with JWT",
-        "  project    - Create complete Spring Boot projects"
+        "  project    - Create complete Spring Boot projects",
+        "  doctor     - Scan a project for performance anti-patterns",
+        "  cache      - Inspect or prune the render cache"
     },
     subcommands = {
         ModelCommand.class,
@@ -30,6 +36,8 @@ import picocli.CommandLine.Option;
         RepositoryCommand.class,
         SecurityCommand.class,
         ProjectCommand.class,
+        DoctorCommand.class,
+        CacheCommand.class,
         CommandLine.HelpCommand.class
     },
     commandListHeading = "%n@|bold Comandos:|@%n",
@@ -39,6 +47,7 @@ import picocli.CommandLine.Option;
         "  @|yellow spring-scaffold controller UserController -m User|@",
         "  @|yellow spring-scaffold security --jwt-secret mySecret|@",
         "  @|yellow spring-scaffold project my-app --package com.example|@",
+        "  @|yellow spring-scaffold --template-pack company-templates.jar model User|@",
         "",
         "For more informations about a specific command:",
         "  @|yellow spring-scaffold <comando> --help|@"
@@ -58,14 +67,44 @@ public class SpringScaffoldCLI implements Runnable {
     )
     private boolean quiet = false;
 
+    @Option(
+        names = {"--template-pack"},
+        description = "Zip/jar archive with templates overriding the built-in ones (loaded lazily)"
+    )
+    private void setTemplatePack(Path templatePack) {
+        TemplateEngine.useTemplatePack(templatePack);
+    }
+
+    @Option(
+        names = {"--no-cache"},
+        description = "Always render templates, bypassing the user-level render cache"
+    )
+    private void setNoCache(boolean noCache) {
+        if (noCache) {
+            TemplateEngine.useRenderCache(null);
+        }
+    }
+
     @Override
     public void run() {
         CommandLine.usage(this, System.out);
     }
 
     public static void main(String[] args) {
+        // Enabled for the CLI only; --no-cache turns it off again while the arguments are parsed
+        TemplateEngine.useRenderCache(RenderCache.userCache());
+        int exitCode = createCommandLine().execute(args);
+        
+        System.exit(exitCode);
+    }
+
+    /**
+     * Creates the command line the CLI runs, with its parser settings and error handling.
+     */
+    public static CommandLine createCommandLine() {
         CommandLine commandLine = new CommandLine(new SpringScaffoldCLI())
-            .setColorScheme(createColorScheme());
+            .setColorScheme(createColorScheme())
+            .setCaseInsensitiveEnumValuesAllowed(true);
 
         commandLine.setExecutionExceptionHandler((ex, cmd, parseResult) -> {
             cmd.getErr().println(cmd.getColorScheme().errorText("❌ Error: " + ex.getMessage()));
@@ -74,10 +113,7 @@ public class SpringScaffoldCLI implements Runnable {
             }
             return 1;
         });
-
-        int exitCode = commandLine.execute(args);
-        
-        System.exit(exitCode);
+        return commandLine;
     }
 
     private static CommandLine.Help.ColorScheme createColorScheme() {
@@ -0,0 +1,102 @@
+package com.scaffold.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declarative description of the code to generate, read from YAML or JSON.
+ *
+ * <pre>
+ * basePackage: com.example
+ * entities:
+ *   - name: Product
+ *     fields: [ "name:String:120", "category:String:index", "price:BigDecimal" ]
+ *     indexes: [ [ category, name ] ]
+ *   - name: Customer
+ *     fields: [ "email:String" ]
+ *     controller: false
+ * </pre>
+ *
+ * Package names may be relative to {@code basePackage} or fully qualified.
+ */
+@Data
+@NoArgsConstructor
+public class ScaffoldManifest {
+
+    private String basePackage;
+
+    private String modelPackage = "model";
+
+    private String repositoryPackage = "repository";
+
+    private String servicePackage = "service";
+
+    private String controllerPackage = "controller";
+
+    private boolean jpa = true;
+
+    private boolean lombok = true;
+
+    private boolean validation = true;
+
+    private boolean serviceInterfaces = true;
+
+    private boolean swagger = false;
+
+    private String apiBasePath = "/api/v1";
+
+    /**
+     * Writes a Flyway migration per JPA entity, numbered in manifest order
+     */
+    private boolean migrations = true;
+
+    private List<Entity> entities = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class Entity {
+
+        private String name;
+
+        private String table;
+
+        private List<String> fields = new ArrayList<>();
+
+        /**
+         * Composite indexes, each a list of field names in index order
+         */
+        private List<List<String>> indexes = new ArrayList<>();
+
+        private boolean repository = true;
+
+        private boolean service = true;
+
+        private boolean controller = true;
+    }
+
+    public static ScaffoldManifest load(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        ObjectMapper mapper = name.endsWith(".yml") || name.endsWith(".yaml")
+            ? new ObjectMapper(new YAMLFactory())
+            : new ObjectMapper();
+        ScaffoldManifest manifest = mapper.readValue(file.toFile(), ScaffoldManifest.class);
+        if (manifest.getBasePackage() == null || manifest.getBasePackage().isBlank()) {
+            throw new IOException("Manifest " + file + " has no basePackage");
+        }
+        return manifest;
+    }
+
+    /**
+     * Resolves a package of this manifest against {@code basePackage}.
+     */
+    public String resolvePackage(String packageName) {
+        return packageName.contains(".") ? packageName : basePackage + "." + packageName;
+    }
+}
@@ -0,0 +1,113 @@
+package com.scaffold.api;
+
+import com.scaffold.commands.RepositoryCommand.RepositoryType;
+import com.scaffold.generators.ControllerGenerator;
+import com.scaffold.generators.ModelGenerator;
+import com.scaffold.generators.RepositoryGenerator;
+import com.scaffold.generators.ServiceGenerator;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Embeddable entry point to the generators, for build plugins and other tools that run in-process
+ * instead of forking the CLI. Entities of a manifest are generated in parallel.
+ */
+@Slf4j
+public class Scaffolder {
+
+    private final Path outputDirectory;
+
+    /**
+     * @param outputDirectory Root of the generated tree; sources go to {@code src/main/java} below it
+     */
+    public Scaffolder(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public Path getSourceRoot() {
+        return outputDirectory.resolve("src/main/java");
+    }
+
+    /**
+     * Root of the generated resources, such as the Flyway migrations in {@code db/migration}
+     */
+    public Path getResourceRoot() {
+        return outputDirectory.resolve("src/main/resources");
+    }
+
+    /**
+     * @param files    Number of files requested from the generators
+     * @param failures Components that were not generated, because the file already existed or an error occurred
+     */
+    public record Result(int files, List<String> failures) {
+
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+
+    public Result generate(ScaffoldManifest manifest) {
+        String output = outputDirectory.toString();
+        String modelPackage = manifest.resolvePackage(manifest.getModelPackage());
+        String repositoryPackage = manifest.resolvePackage(manifest.getRepositoryPackage());
+        String servicePackage = manifest.resolvePackage(manifest.getServicePackage());
+        String controllerPackage = manifest.resolvePackage(manifest.getControllerPackage());
+
+        AtomicInteger files = new AtomicInteger();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        // Versions are assigned up front so that parallel generation numbers the migrations in manifest order
+        List<ScaffoldManifest.Entity> entities = manifest.getEntities();
+        int firstMigration = ModelGenerator.nextMigrationVersion(output);
+
+        IntStream.range(0, entities.size()).parallel().forEach(i -> {
+            ScaffoldManifest.Entity entity = entities.get(i);
+            String name = entity.getName();
+            List<FieldInfo> fields = entity.getFields().stream().map(FieldInfo::parse).toList();
+
+            files.addAndGet(manifest.isJpa() && manifest.isMigrations() ? 2 : 1);
+            ModelGenerator modelGenerator = new ModelGenerator();
+            modelGenerator.setCompoundIndexes(entity.getIndexes());
+            modelGenerator.setMigration(manifest.isMigrations());
+            modelGenerator.setMigrationVersion(firstMigration + i);
+            if (!modelGenerator.generate(name, modelPackage, fields, entity.getTable(),
+                    manifest.isJpa(), manifest.isLombok(), manifest.isValidation(), output)) {
+                failures.add(name);
+            }
+            if (entity.isRepository()) {
+                files.incrementAndGet();
+                if (!new RepositoryGenerator().generate(name + "Repository", repositoryPackage, name, modelPackage,
+                        RepositoryType.JPA, "Long", true, Pagination.OFFSET, output)) {
+                    failures.add(name + "Repository");
+                }
+            }
+            if (entity.isService()) {
+                files.addAndGet(manifest.isServiceInterfaces() ? 2 : 1);
+                if (!new ServiceGenerator().generate(name + "Service", servicePackage, name, modelPackage,
+                        repositoryPackage, manifest.isServiceInterfaces(), true, true, manifest.isValidation(),
+                        null, output)) {
+                    failures.add(name + "Service");
+                }
+            }
+            if (entity.isController()) {
+                files.incrementAndGet();
+                if (!new ControllerGenerator().generate(name + "Controller", controllerPackage, name, modelPackage,
+                        servicePackage, manifest.getApiBasePath(), true, manifest.isSwagger(),
+                        manifest.isValidation(), null, output)) {
+                    failures.add(name + "Controller");
+                }
+            }
+        });
+
+        log.debug("Generated {} entities into {}", manifest.getEntities().size(), outputDirectory);
+        return new Result(files.get(), List.copyOf(failures));
+    }
+}
@@ -0,0 +1,125 @@
+package com.scaffold.commands;
+
+import com.scaffold.templates.RenderCache;
+import com.scaffold.templates.TemplateEngine;
+import lombok.extern.slf4j.Slf4j;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+@Slf4j
+@Command(
+    name = "cache",
+    description = {
+        "Inspect or clean the user-level render cache.",
+        "",
+        "@|underline Examples:|@",
+        "  @|yellow spring-scaffold cache stats|@",
+        "  @|yellow spring-scaffold cache prune --max-size 64MB|@",
+        "  @|yellow spring-scaffold cache prune --all|@"
+    },
+    mixinStandardHelpOptions = true,
+    subcommands = {
+        CacheCommand.Stats.class,
+        CacheCommand.Prune.class
+    }
+)
+public class CacheCommand implements Runnable {
+
+    @Override
+    public void run() {
+        CommandLine.usage(this, System.out);
+    }
+
+    private static RenderCache currentCache() {
+        RenderCache cache = TemplateEngine.getRenderCache();
+        return cache != null ? cache : RenderCache.userCache();
+    }
+
+    @Command(name = "stats", description = "Show render cache location, size and usage", mixinStandardHelpOptions = true)
+    static class Stats implements Callable<Integer> {
+
+        @Override
+        public Integer call() {
+            RenderCache cache = currentCache();
+            RenderCache.Stats stats = cache.stats();
+            System.out.println("📁 Location: " + cache.getDirectory());
+            System.out.println("📦 Entries: " + stats.entries());
+            System.out.println("💾 Size: " + formatSize(stats.totalBytes()) + " / " + formatSize(stats.maxBytes()));
+            if (stats.entries() > 0) {
+                System.out.println("🕒 Oldest use: " + Instant.ofEpochMilli(stats.oldestUse()));
+                System.out.println("🕒 Newest use: " + Instant.ofEpochMilli(stats.newestUse()));
+            }
+            return 0;
+        }
+    }
+
+    @Command(name = "prune", description = "Evict least recently used entries", mixinStandardHelpOptions = true)
+    static class Prune implements Callable<Integer> {
+
+        @Option(
+            names = {"--max-size"},
+            description = "Size to shrink the cache to, e.g. 500KB, 64MB, 1GB (default: cache limit)"
+        )
+        private String maxSize;
+
+        @Option(
+            names = {"--all"},
+            description = "Remove every entry"
+        )
+        private boolean all;
+
+        @Override
+        public Integer call() {
+            RenderCache cache = currentCache();
+            long limit;
+            try {
+                limit = all ? 0 : maxSize != null ? parseSize(maxSize) : cache.getMaxBytes();
+            } catch (IllegalArgumentException e) {
+                System.err.println("❌ " + e.getMessage());
+                return 1;
+            }
+            int removed = cache.prune(limit);
+            System.out.println("🧹 Removed " + removed + " entries");
+            System.out.println("💾 Size: " + formatSize(cache.stats().totalBytes()));
+            return 0;
+        }
+    }
+
+    static long parseSize(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1;
+        if (normalized.endsWith("B")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        if (normalized.endsWith("K")) {
+            multiplier = 1024L;
+        } else if (normalized.endsWith("M")) {
+            multiplier = 1024L * 1024;
+        } else if (normalized.endsWith("G")) {
+            multiplier = 1024L * 1024 * 1024;
+        }
+        if (multiplier > 1) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        try {
+            return Long.parseLong(normalized.trim()) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + value);
+        }
+    }
+
+    static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024L * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
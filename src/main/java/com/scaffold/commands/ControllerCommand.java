@@ -1,13 +1,22 @@
 package com.scaffold.commands;
 
 import com.scaffold.generators.ControllerGenerator;
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
+import com.scaffold.source.EntityScanner;
 import com.scaffold.utils.ProjectUtils;
 import lombok.extern.slf4j.Slf4j;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Command(
@@ -18,12 +27,19 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold controller UserController|@",
         "  @|yellow spring-scaffold controller ProductController -m Product|@",
-        "  @|yellow spring-scaffold controller CustomerController --path /api/v2|@"
+        "  @|yellow spring-scaffold controller CustomerController --path /api/v2|@",
+        "  @|yellow spring-scaffold controller OrderController --crud --pagination keyset|@",
+        "  @|yellow spring-scaffold controller InvoiceController --crud --dto|@",
+        "  @|yellow spring-scaffold controller ArticleController --crud --http-caching --list-max-age 30|@",
+        "  @|yellow spring-scaffold controller OrderController --crud --loadtest|@",
+        "  @|yellow spring-scaffold controller OrderController --crud --export|@"
     },
     mixinStandardHelpOptions = true
 )
 public class ControllerCommand implements Callable<Integer> {
 
+    private static final Pattern JAVA_VERSION = Pattern.compile("<java\\.version>\\s*(\\d+)\\s*</java\\.version>");
+
     @Parameters(
         index = "0",
         description = "Controller name (ex: UserController, ProductController)"
@@ -79,6 +95,72 @@ public class ControllerCommand implements Callable<Integer> {
     )
     private boolean includeValidation = true;
 
+    @Option(
+        names = {"--pagination"},
+        description = "List endpoint: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). "
+            + "Keyset takes a cursor and stays fast on large tables",
+        defaultValue = "OFFSET"
+    )
+    private Pagination pagination;
+
+    @Option(
+        names = {"--max-page-size"},
+        description = "Largest page a paginated list endpoint returns (default: ${DEFAULT-VALUE})",
+        defaultValue = "100"
+    )
+    private int maxPageSize;
+
+    @Option(
+        names = {"--bulk"},
+        description = "Include POST/PUT/DELETE /bulk endpoints (needs a service generated with --bulk)"
+    )
+    private boolean includeBulk = false;
+
+    @Option(
+        names = {"--async"},
+        description = "Return CompletableFuture from the CRUD endpoints, releasing request threads (needs a service generated with --async)"
+    )
+    private boolean includeAsync = false;
+
+    @Option(
+        names = {"--reactive"},
+        description = "Generate a WebFlux controller over a reactive service (needs a service generated with --reactive)"
+    )
+    private boolean reactive = false;
+
+    @Option(
+        names = {"--dto"},
+        description = "Accept <Model>Request bodies and return <Model>Response records instead of entities (needs a service generated with --dto)"
+    )
+    private boolean dto = false;
+
+    @Option(
+        names = {"--http-caching"},
+        description = "ETags from the entity version: GET answers If-None-Match with 304, PUT/DELETE require If-Match "
+            + "(needs a service generated with --http-caching)"
+    )
+    private boolean httpCaching = false;
+
+    @Option(
+        names = {"--list-max-age"},
+        description = "Seconds clients may reuse list responses (Cache-Control max-age) with --http-caching (default: ${DEFAULT-VALUE})",
+        defaultValue = "10"
+    )
+    private int listMaxAge;
+
+    @Option(
+        names = {"--loadtest"},
+        description = "Also generate <Model>LoadTest, a virtual-thread load driver over the CRUD endpoints "
+            + "run against in-memory H2 (mvn test -Dloadtest=true; needs Java 21)"
+    )
+    private boolean loadTest = false;
+
+    @Option(
+        names = {"--export"},
+        description = "Add GET /export?format=ndjson|csv, streaming every row to the client (needs 'service --export')"
+    )
+    private boolean export = false;
+
     @Option(
         names = {"-o", "--output"},
         description = "Output directory (default: current directory)"
@@ -107,8 +189,77 @@ public class ControllerCommand implements Callable<Integer> {
                 modelName = inferModelName(controllerName);
                 log.info("Inferred model: {}", modelName);
             }
+
+            EntityInfo entity = EntityScanner.findEntity(outputDirectory, modelName, resolvedModelPackage).orElse(null);
             
+            if (maxPageSize < 1) {
+                System.err.println("❌ Max page size must be positive");
+                return 1;
+            }
+
+            if (reactive && (includeBulk || includeAsync)) {
+                System.err.println("❌ --reactive cannot be combined with --bulk or --async");
+                return 1;
+            }
+            if (dto && (reactive || includeBulk || includeAsync)) {
+                System.err.println("❌ --dto cannot be combined with --reactive, --bulk or --async");
+                return 1;
+            }
+            if (includeBulk && !includeCrud) {
+                System.err.println("❌ --bulk needs --crud");
+                return 1;
+            }
+
+            if (httpCaching && (reactive || includeAsync)) {
+                System.err.println("❌ --http-caching cannot be combined with --reactive or --async");
+                return 1;
+            }
+            if (httpCaching && (entity == null || entity.isDocument() || entity.getVersionName() == null)) {
+                System.err.println("❌ --http-caching needs a JPA entity " + modelName + " with a @Version property (model --http-caching)");
+                return 1;
+            }
+            if (loadTest && (!includeCrud || reactive)) {
+                System.err.println("❌ --loadtest needs --crud and cannot be combined with --reactive");
+                return 1;
+            }
+            if (loadTest && (entity == null || entity.isDocument())) {
+                System.err.println("❌ --loadtest needs the JPA entity " + modelName + " to build request payloads");
+                return 1;
+            }
+            if (export && (!includeCrud || reactive)) {
+                System.err.println("❌ --export needs --crud and cannot be combined with --reactive");
+                return 1;
+            }
+            if (export && (entity == null || entity.isDocument())) {
+                System.err.println("❌ --export needs the JPA entity " + modelName + " to build the CSV columns");
+                return 1;
+            }
+            Integer javaVersion = projectJavaVersion();
+            if (loadTest && javaVersion != null && javaVersion < 21) {
+                System.err.println("❌ --loadtest runs on virtual threads and needs Java 21 or later (project uses " + javaVersion + ")");
+                return 1;
+            }
+            if (listMaxAge < 0) {
+                System.err.println("❌ List max age cannot be negative");
+                return 1;
+            }
+
             ControllerGenerator generator = new ControllerGenerator();
+            generator.setPagination(pagination);
+            generator.setMaxPageSize(maxPageSize);
+            generator.setIncludeBulk(includeBulk);
+            generator.setIncludeAsync(includeAsync);
+            generator.setReactive(reactive);
+            generator.setDto(dto);
+            generator.setHttpCaching(httpCaching);
+            generator.setListMaxAge(listMaxAge);
+            generator.setLoadTest(loadTest);
+            generator.setExport(export);
+            generator.setBasePackage(ProjectUtils.detectBasePackage());
+            generator.setSummaryProjection(!reactive && entity != null && EntityScanner.hasSummary(outputDirectory, entity));
+            if (!reactive && entity != null) {
+                generator.setCollections(entity.getFields().stream().filter(FieldInfo::isToMany).toList());
+            }
             boolean success = generator.generate(
                 controllerName,
                 resolvedControllerPackage,
@@ -119,6 +270,7 @@ public class ControllerCommand implements Callable<Integer> {
                 includeCrud,
                 includeSwagger,
                 includeValidation,
+                entity,
                 outputDirectory
             );
 
@@ -132,6 +284,9 @@ public class ControllerCommand implements Callable<Integer> {
                     System.out.println("🌐 Base endpoints: " + basePath + "/" + 
                         modelName.toLowerCase() + "s");
                 }
+                if (loadTest) {
+                    System.out.println("🏋 Load test: mvn test -Dloadtest=true -Dtest=" + modelName + "LoadTest");
+                }
                 
                 return 0;
             } else {
@@ -172,6 +327,18 @@ public class ControllerCommand implements Callable<Integer> {
         return basePackage + "." + userPackage;
     }
 
+    /**
+     * Java version declared in the project's pom.xml, or null when it cannot be read
+     */
+    private Integer projectJavaVersion() {
+        try {
+            Matcher matcher = JAVA_VERSION.matcher(Files.readString(Path.of(outputDirectory, "pom.xml")));
+            return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
     private String inferModelName(String controllerName) {
         if (controllerName.endsWith("Controller")) {
             return controllerName.substring(0, controllerName.length() - 10);
@@ -0,0 +1,113 @@
+package com.scaffold.commands;
+
+import com.scaffold.doctor.Finding;
+import com.scaffold.doctor.ProjectDoctor;
+import com.scaffold.doctor.Severity;
+import lombok.extern.slf4j.Slf4j;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+@Slf4j
+@Command(
+    name = "doctor",
+    description = {
+        "Scan a project for performance anti-patterns.",
+        "",
+        "@|underline Examples:|@",
+        "  @|yellow spring-scaffold doctor|@",
+        "  @|yellow spring-scaffold doctor ../my-app --fix-patch doctor.patch|@",
+        "  @|yellow spring-scaffold doctor --fix-patch - | git apply|@"
+    },
+    mixinStandardHelpOptions = true
+)
+public class DoctorCommand implements Callable<Integer> {
+
+    @Parameters(
+        index = "0",
+        arity = "0..1",
+        description = "Project directory (default: current directory)"
+    )
+    private Path projectDirectory = Path.of(".");
+
+    @Option(
+        names = {"--fix-patch"},
+        description = "Write a unified diff with the automatic fixes to this file ('-' for stdout)"
+    )
+    private String fixPatch;
+
+    @Option(
+        names = {"--strict"},
+        description = "Exit with code 2 when anything is reported (for CI)"
+    )
+    private boolean strict;
+
+    @Override
+    public Integer call() throws Exception {
+        try {
+            if (!Files.isDirectory(projectDirectory)) {
+                System.err.println("❌ Not a directory: " + projectDirectory);
+                return 1;
+            }
+            ProjectDoctor doctor = new ProjectDoctor(projectDirectory);
+            ProjectDoctor.Report report = doctor.examine();
+            boolean patchToStdout = "-".equals(fixPatch);
+
+            if (!patchToStdout) {
+                printReport(report);
+            }
+
+            if (fixPatch != null) {
+                String patch = doctor.createPatch(report.findings());
+                if (patchToStdout) {
+                    System.out.print(patch);
+                } else if (patch.isEmpty()) {
+                    System.out.println("ℹ️  No automatic fixes available");
+                } else {
+                    Files.writeString(Path.of(fixPatch), patch, StandardCharsets.UTF_8);
+                    System.out.println("🩹 Fix patch written to " + fixPatch + " (apply with: git apply " + fixPatch + ")");
+                }
+            }
+
+            return strict && !report.findings().isEmpty() ? 2 : 0;
+
+        } catch (Exception e) {
+            log.error("Error analyzing project", e);
+            System.err.println("❌ Unexpected error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void printReport(ProjectDoctor.Report report) {
+        System.out.println("🩺 Checked " + report.filesChecked() + " files");
+        if (report.findings().isEmpty()) {
+            System.out.println("✅ No performance issues found");
+            return;
+        }
+        System.out.println();
+        for (Finding finding : report.findings()) {
+            System.out.println(icon(finding.severity()) + " " + finding.severity() + " " + finding.location()
+                + " [" + finding.rule() + "]");
+            System.out.println("   " + finding.message());
+            System.out.println("   💡 " + finding.suggestion() + (finding.fix() != null ? " (auto-fixable)" : ""));
+        }
+        System.out.println();
+        System.out.println("📋 " + report.findings().size() + " findings: "
+            + report.count(Severity.HIGH) + " high, "
+            + report.count(Severity.MEDIUM) + " medium, "
+            + report.count(Severity.LOW) + " low");
+    }
+
+    private static String icon(Severity severity) {
+        return switch (severity) {
+            case HIGH -> "❌";
+            case MEDIUM -> "⚠️ ";
+            case LOW -> "ℹ️ ";
+        };
+    }
+}
@@ -8,7 +8,11 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -21,7 +25,14 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold model User|@",
         "  @|yellow spring-scaffold model Product name:String price:BigDecimal|@",
-        "  @|yellow spring-scaffold model Customer --pkg com.example.entity|@"
+        "  @|yellow spring-scaffold model Customer --pkg com.example.entity|@",
+        "  @|yellow spring-scaffold model Event --id-strategy identity|@",
+        "  @|yellow spring-scaffold model Order total:BigDecimal --persistence r2dbc|@",
+        "  @|yellow spring-scaffold model Customer email:String:120:unique country:String:index --compound-index country,email|@",
+        "  @|yellow spring-scaffold model Product sku:String:unique category:String:index --persistence mongodb --compound-index category,sku|@",
+        "  @|yellow spring-scaffold model Post title:String author:ManyToOne:User comments:OneToMany:Comment|@",
+        "  @|yellow spring-scaffold model Invoice number:String:unique total:BigDecimal --dto --validation|@",
+        "  @|yellow spring-scaffold model Article title:String body:String --http-caching|@"
     },
     mixinStandardHelpOptions = true
 )
@@ -36,7 +47,11 @@ public class ModelCommand implements Callable<Integer> {
     @Parameters(
         index = "1..*",
         arity = "0..*",
-        description = "Fields in 'name:type' format (ex: name:String age:Integer)"
+        description = {
+            "Fields in 'name:type[:unique|:index|:summary|:required|:<length>]' format (ex: name:String age:Integer email:String:120:unique)",
+            "Associations in 'name:ManyToOne|OneToOne|OneToMany|ManyToMany:Target' format, mapped LAZY (ex: author:ManyToOne:User:required items:OneToMany:OrderItem)",
+            "OneToMany is mapped by the field of the target named after this model (ex: Order.items by OrderItem.order)"
+        }
     )
     private List<String> fieldParams = new ArrayList<>();
 
@@ -84,12 +99,64 @@ public class ModelCommand implements Callable<Integer> {
     )
     private boolean includeValidation;
 
+    @Option(
+        names = {"--id-strategy"},
+        description = "ID generation: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). "
+            + "IDENTITY disables JDBC insert batching",
+        defaultValue = "SEQUENCE"
+    )
+    private IdStrategy idStrategy;
+
+    @Option(
+        names = {"--persistence"},
+        description = "Mapping annotations: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). "
+            + "R2DBC also writes a schema script to src/main/resources/db/schema; "
+            + "MONGODB maps a @Document with @Indexed fields",
+        defaultValue = "JPA"
+    )
+    private Persistence persistence;
+
+    @Option(
+        names = {"--compound-index"},
+        description = "Comma-separated fields indexed together, in query order (repeatable). Ex: --compound-index category,name"
+    )
+    private List<String> compoundIndexes = new ArrayList<>();
+
+    @Option(
+        names = {"--migration"},
+        negatable = true,
+        description = "Write a Flyway migration creating the table to src/main/resources/db/migration (default: ${DEFAULT-VALUE})",
+        defaultValue = "true",
+        fallbackValue = "true"
+    )
+    private boolean migration;
+
+    @Option(
+        names = {"--dto"},
+        description = "Also write <Model>Request/<Model>Response records and a field-by-field <Model>Mapper to the dto package (JPA only)"
+    )
+    private boolean dto;
+
+    @Option(
+        names = {"--http-caching"},
+        description = "Add a @Version column, from which controllers generated with --http-caching build ETags (JPA only)"
+    )
+    private boolean httpCaching;
+
     @Option(
         names = {"-o", "--output", "--out"},
         description = "Output directory (default: current directory)"
     )
     private String outputDirectory = ".";
 
+    public enum IdStrategy {
+        SEQUENCE, IDENTITY
+    }
+
+    public enum Persistence {
+        JPA, R2DBC, MONGODB
+    }
+
     @Override
     public Integer call() throws Exception {
         try {
@@ -104,7 +171,46 @@ public class ModelCommand implements Callable<Integer> {
             log.info("Using package: {}", resolvedPackage);
 
             List<FieldInfo> fieldInfoList = parseFields();
+            if (persistence != Persistence.JPA && fieldInfoList.stream().anyMatch(FieldInfo::isRelation)) {
+                System.err.println("❌ Association fields need --persistence JPA");
+                return 1;
+            }
+            if (persistence != Persistence.JPA && dto) {
+                System.err.println("❌ --dto needs --persistence JPA");
+                return 1;
+            }
+            if (httpCaching && (persistence != Persistence.JPA || !includeJpa)) {
+                System.err.println("❌ --http-caching needs --persistence JPA");
+                return 1;
+            }
+            if (httpCaching && fieldInfoList.stream().anyMatch(info -> info.getName().equals("version"))) {
+                System.err.println("❌ --http-caching adds the version property itself; remove the version field");
+                return 1;
+            }
+            List<List<String>> indexes = compoundIndexes.stream()
+                .map(index -> Arrays.stream(index.split(",")).map(String::trim).toList())
+                .toList();
+            for (List<String> index : indexes) {
+                for (String field : index) {
+                    if (fieldInfoList.stream().noneMatch(info -> info.getName().equals(field))) {
+                        System.err.println("❌ Compound index on unknown field: " + field);
+                        return 1;
+                    }
+                    if (fieldInfoList.stream().anyMatch(info -> info.getName().equals(field) && info.isToMany())) {
+                        System.err.println("❌ Compound index on collection field: " + field);
+                        return 1;
+                    }
+                }
+            }
+
             ModelGenerator generator = new ModelGenerator();
+            generator.setIdStrategy(idStrategy);
+            generator.setPersistence(persistence);
+            generator.setCompoundIndexes(indexes);
+            generator.setMigration(migration);
+            generator.setDto(dto);
+            generator.setVersioned(httpCaching);
+            generator.setMysql(isMySqlProject());
             boolean success = generator.generate(
                 className,
                 resolvedPackage,
@@ -120,6 +226,10 @@ public class ModelCommand implements Callable<Integer> {
                 System.out.println("✅ Model " + className + " generated successfully!");
                 System.out.println("📁 Location: " + outputDirectory + "/" + 
                     resolvedPackage.replace(".", "/") + "/" + className + ".java");
+                if (dto) {
+                    System.out.println("📦 DTOs: " + ModelGenerator.dtoPackage(resolvedPackage) + "." + className
+                        + "Request, " + className + "Response, " + className + "Mapper");
+                }
                 return 0;
             } else {
                 System.err.println("❌ Failed to generate model");
@@ -159,6 +269,19 @@ public class ModelCommand implements Callable<Integer> {
         return basePackage + "." + userPackage;
     }
 
+    /**
+     * Whether the project's pom.xml declares a MySQL driver, whose DDL differs from the standard SQL of the scripts
+     */
+    private boolean isMySqlProject() {
+        try {
+            String pom = Files.readString(Path.of(outputDirectory, "pom.xml"));
+            return pom.contains("<artifactId>mysql-connector-j</artifactId>")
+                || pom.contains("<artifactId>r2dbc-mysql</artifactId>");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     private List<FieldInfo> parseFields() {
         List<FieldInfo> fieldInfoList = new ArrayList<>();
         
@@ -176,17 +299,11 @@ public class ModelCommand implements Callable<Integer> {
         
         for (String field : allFields) {
             if (field != null && !field.trim().isEmpty()) {
-                String[] parts = field.split(":");
-                if (parts.length == 2) {
-                    String name = parts[0].trim();
-                    String type = parts[1].trim();
-                    
-                    if (!name.isEmpty() && !type.isEmpty()) {
-                        fieldInfoList.add(new FieldInfo(name, type));
-                    }
-                } else {
+                try {
+                    fieldInfoList.add(FieldInfo.parse(field));
+                } catch (IllegalArgumentException e) {
                     System.err.println("⚠️  Invalid field ignored: " + field);
-                    System.err.println("   Expected format: name:type");
+                    System.err.println("   " + e.getMessage());
                 }
             }
         }
@@ -17,7 +17,9 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold project my-app|@",
         "  @|yellow spring-scaffold project ecommerce --package com.example.ecommerce|@",
-        "  @|yellow spring-scaffold project blog-api --dependencies web,jpa,security|@"
+        "  @|yellow spring-scaffold project blog-api --dependencies web,jpa,security|@",
+        "  @|yellow spring-scaffold project orders --metrics|@",
+        "  @|yellow spring-scaffold project edge-api --native|@"
     },
     mixinStandardHelpOptions = true
 )
@@ -45,7 +47,7 @@ public class ProjectCommand implements Callable<Integer> {
     @Option(
         names = {"--spring-version", "--spring", "-s"},
         description = "Spring Boot version (default: ${DEFAULT-VALUE})",
-        defaultValue = "3.2.0"
+        defaultValue = "3.3.5"
     )
     private String springBootVersion;
 
@@ -60,7 +62,7 @@ public class ProjectCommand implements Callable<Integer> {
         names = {"--dependencies", "--deps", "-d"},
         description = {
             "Dependencies separated by comma.",
-            "Options: web, jpa, security, validation, actuator, test, devtools, lombok, h2, mysql, postgresql, mongodb",
+            "Options: web, webflux, jpa, r2dbc, security, validation, actuator, cache, test, devtools, lombok, h2, mysql, postgresql, mongodb",
             "Example: web,jpa,security,validation"
         },
         split = ","
@@ -83,7 +85,7 @@ public class ProjectCommand implements Callable<Integer> {
 
     @Option(
         names = {"--docker"},
-        description = "Include Docker files (Dockerfile and docker-compose) (default: ${DEFAULT-VALUE})",
+        description = "Include a layered Dockerfile and .dockerignore (default: ${DEFAULT-VALUE})",
         defaultValue = "true"
     )
     private boolean includeDocker;
@@ -102,6 +104,45 @@ public class ProjectCommand implements Callable<Integer> {
     )
     private boolean includeReadme;
 
+    @Option(
+        names = {"--concurrency"},
+        description = {
+            "Request concurrency model: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+            "VIRTUAL runs requests on virtual threads (Java 21+); ASYNC frees request threads",
+            "by running blocking work on a bounded executor. Both add a load test (mvn test -Dloadtest=true)"
+        },
+        defaultValue = "PLATFORM"
+    )
+    private Concurrency concurrency;
+
+    @Option(
+        names = {"--profile"},
+        description = {
+            "Configuration profile: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+            "PROD also generates application-prod.properties with pool, JPA and server tuning"
+        },
+        defaultValue = "DEV"
+    )
+    private Profile profile;
+
+    @Option(
+        names = {"--metrics"},
+        description = {
+            "Expose Prometheus metrics with latency histograms (HTTP, services, repositories), connection pool,",
+            "cache and JVM metrics, and write a Grafana dashboard to monitoring/grafana-dashboard.json"
+        }
+    )
+    private boolean metrics;
+
+    @Option(
+        names = {"--native"},
+        description = {
+            "Add a GraalVM native build (mvn -Pnative native:compile) with runtime hints for models, DTOs and JWT,",
+            "and a Dockerfile.native producing a JVM-less image"
+        }
+    )
+    private boolean nativeImage;
+
     @Option(
         names = {"-o", "--output"},
         description = "Output directory (default: current directory)"
@@ -116,6 +157,14 @@ public class ProjectCommand implements Callable<Integer> {
         JAR, WAR
     }
 
+    public enum Profile {
+        DEV, PROD
+    }
+
+    public enum Concurrency {
+        PLATFORM, VIRTUAL, ASYNC
+    }
+
     @Override
     public Integer call() throws Exception {
         try {
@@ -127,7 +176,19 @@ public class ProjectCommand implements Callable<Integer> {
             if (groupId == null || groupId.trim().isEmpty()) {
                 groupId = basePackage;
             }
+            if (concurrency == Concurrency.VIRTUAL && !supportsVirtualThreads(javaVersion)) {
+                System.err.println("❌ --concurrency VIRTUAL requires --java-version 21 or later");
+                return 1;
+            }
+            if (nativeImage && (packaging == PackagingType.WAR || !ProjectGenerator.isAtLeast(springBootVersion, 3, 0))) {
+                System.err.println("❌ --native requires JAR packaging and Spring Boot 3.0 or later");
+                return 1;
+            }
             ProjectGenerator generator = new ProjectGenerator();
+            generator.setConcurrency(concurrency);
+            generator.setProductionProfile(profile == Profile.PROD);
+            generator.setMetrics(metrics);
+            generator.setNativeImage(nativeImage);
             boolean success = generator.generate(
                 projectName,
                 basePackage,
@@ -152,10 +213,20 @@ public class ProjectCommand implements Callable<Integer> {
                 System.out.println("   🍃 Spring Boot: " + springBootVersion);
                 System.out.println("   💾 Database: " + database);
                 System.out.println("   📋 Dependencies: " + String.join(", ", dependencies));
+                System.out.println("   🧵 Concurrency: " + concurrency);
+                if (metrics) {
+                    System.out.println("   📈 Metrics: /actuator/prometheus, dashboard in monitoring/grafana-dashboard.json");
+                }
                 
                 System.out.println("\n🚀 To run the project:");
                 System.out.println("   cd " + projectName);
                 System.out.println("   mvn spring-boot:run");
+                if (profile == Profile.PROD) {
+                    System.out.println("   SPRING_PROFILES_ACTIVE=prod java -jar target/*.jar");
+                }
+                if (nativeImage) {
+                    System.out.println("   mvn -Pnative native:compile   # needs GraalVM, or docker build -f Dockerfile.native .");
+                }
                 
                 return 0;
             } else {
@@ -169,4 +240,12 @@ public class ProjectCommand implements Callable<Integer> {
             return 1;
         }
     }
+
+    private static boolean supportsVirtualThreads(String javaVersion) {
+        try {
+            return Integer.parseInt(javaVersion.trim()) >= 21;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package com.scaffold.commands;
 
 import com.scaffold.generators.RepositoryGenerator;
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
+import com.scaffold.source.EntityScanner;
 import com.scaffold.utils.ProjectUtils;
 import lombok.extern.slf4j.Slf4j;
 import picocli.CommandLine.Command;
@@ -18,7 +22,11 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold repository UserRepository|@",
         "  @|yellow spring-scaffold repository ProductRepository -m Product|@",
-        "  @|yellow spring-scaffold repository CustomerRepository --type mongodb|@"
+        "  @|yellow spring-scaffold repository CustomerRepository --type mongodb|@",
+        "  @|yellow spring-scaffold repository OrderRepository --pagination keyset|@",
+        "  @|yellow spring-scaffold repository InvoiceRepository --dto|@",
+        "  @|yellow spring-scaffold repository ArticleRepository --http-caching|@",
+        "  @|yellow spring-scaffold repository OrderRepository --export|@"
     },
     mixinStandardHelpOptions = true
 )
@@ -50,15 +58,14 @@ public class RepositoryCommand implements Callable<Integer> {
 
     @Option(
         names = {"--type", "-t"},
-        description = "Repository type: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+        description = "Repository type: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}, MONGODB for @Document models)",
         defaultValue = "JPA"
     )
     private RepositoryType repositoryType;
 
     @Option(
         names = {"--id-type"},
-        description = "Entity ID type (default: ${DEFAULT-VALUE})",
-        defaultValue = "Long"
+        description = "Entity ID type (default: detected from the existing entity, otherwise Long)"
     )
     private String idType;
 
@@ -71,10 +78,28 @@ public class RepositoryCommand implements Callable<Integer> {
 
     @Option(
         names = {"--pagination"},
-        description = "Include pagination support (default: ${DEFAULT-VALUE})",
-        defaultValue = "true"
+        description = "Pagination queries: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+        defaultValue = "OFFSET"
+    )
+    private Pagination pagination;
+
+    @Option(
+        names = {"--dto"},
+        description = "Add read methods selecting into the <Model>Response record of 'model --dto' (JPA only)"
+    )
+    private boolean dto;
+
+    @Option(
+        names = {"--http-caching"},
+        description = "Add findVersionById, reading only the @Version column of 'model --http-caching' (JPA only)"
+    )
+    private boolean httpCaching;
+
+    @Option(
+        names = {"--export"},
+        description = "Add a Stream query read through a cursor with fetch size and read-only hints, for exports (JPA only)"
     )
-    private boolean includePagination;
+    private boolean export;
 
     @Option(
         names = {"-o", "--output"},
@@ -106,8 +131,43 @@ public class RepositoryCommand implements Callable<Integer> {
                 modelName = inferModelName(repositoryName);
                 log.info("Inferred model: {}", modelName);
             }
+
+            EntityInfo entity = EntityScanner.findEntity(outputDirectory, modelName, resolvedModelPackage).orElse(null);
+            if (idType == null || idType.trim().isEmpty()) {
+                idType = entity != null ? entity.getIdType() : "Long";
+            }
             
+            if (entity != null && entity.isDocument() && repositoryType == RepositoryType.JPA) {
+                repositoryType = RepositoryType.MONGODB;
+                log.info("{} is a MongoDB document, generating a MONGODB repository", modelName);
+            }
+            
+            if (dto && (entity == null || repositoryType != RepositoryType.JPA)) {
+                System.err.println("❌ --dto needs an existing JPA entity " + modelName + " to read the fields from");
+                return 1;
+            }
+            if (httpCaching && (entity == null || entity.getVersionName() == null || repositoryType != RepositoryType.JPA)) {
+                System.err.println("❌ --http-caching needs an existing JPA entity " + modelName + " with a @Version property (model --http-caching)");
+                return 1;
+            }
+            
+            if (export && repositoryType != RepositoryType.JPA) {
+                System.err.println("❌ --export streams through a JDBC cursor and needs a JPA repository");
+                return 1;
+            }
+
             RepositoryGenerator generator = new RepositoryGenerator();
+            generator.setDto(dto);
+            generator.setHttpCaching(httpCaching);
+            generator.setExport(export);
+            if (entity != null) {
+                generator.setIdName(entity.getIdName());
+                generator.setVersionName(entity.getVersionName());
+                generator.setSummaryProjection(EntityScanner.hasSummary(outputDirectory, entity));
+                generator.setUniqueFields(entity.getFields().stream().filter(FieldInfo::isUnique).toList());
+                generator.setRelations(entity.getFields().stream().filter(FieldInfo::isRelation).toList());
+                generator.setFields(entity.getFields());
+            }
             boolean success = generator.generate(
                 repositoryName,
                 resolvedRepositoryPackage,
@@ -116,7 +176,7 @@ public class RepositoryCommand implements Callable<Integer> {
                 repositoryType,
                 idType,
                 includeCustomQueries,
-                includePagination,
+                pagination,
                 outputDirectory
             );
 
@@ -17,7 +17,8 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold security|@",
         "  @|yellow spring-scaffold security --pkg com.example.security|@",
-        "  @|yellow spring-scaffold security --jwt-secret mySecretKey|@"
+        "  @|yellow spring-scaffold security --jwt-secret mySecretKey|@",
+        "  @|yellow spring-scaffold security --stateless --token-cache|@"
     },
     mixinStandardHelpOptions = true
 )
@@ -63,6 +64,20 @@ public class SecurityCommand implements Callable<Integer> {
     )
     private boolean enableCors;
 
+    @Option(
+        names = {"--stateless"},
+        description = "Authenticate requests from the token claims (roles embedded at login) with a single parse "
+            + "and no user lookup; uses the jjwt 0.12 API"
+    )
+    private boolean stateless = false;
+
+    @Option(
+        names = {"--token-cache"},
+        description = "With --stateless, keep validated tokens in a bounded cache for a few seconds "
+            + "(app.jwt.token-cache.ttl, app.jwt.token-cache.max-size)"
+    )
+    private boolean tokenCache = false;
+
     @Option(
         names = {"-o", "--output", "--out"},
         description = "Output directory (default: current directory)"
@@ -74,6 +89,11 @@ public class SecurityCommand implements Callable<Integer> {
         try {
             log.info("🔐 Generating Spring Security configuration with JWT...");
 
+            if (tokenCache && !stateless) {
+                System.err.println("❌ --token-cache requires --stateless");
+                return 1;
+            }
+
             // Resolve package names
             String resolvedPackageName = resolvePackageName(packageName, "security");
             String resolvedUserPackage = resolvePackageName(userPackage, "model");
@@ -90,6 +110,8 @@ public class SecurityCommand implements Callable<Integer> {
             generator.setUserRepositoryPackage(repositoryPackage);
             generator.setEnableCors(enableCors);
             generator.setOutputDirectory(outputDirectory);
+            generator.setStateless(stateless);
+            generator.setTokenCache(tokenCache);
 
             generator.generate();
 
@@ -97,6 +119,9 @@ public class SecurityCommand implements Callable<Integer> {
             System.out.println("📁 Package: " + resolvedPackageName);
             System.out.println("🔑 JWT Secret: " + (jwtSecret.length() > 20 ? jwtSecret.substring(0, 20) + "..." : jwtSecret));
             System.out.println("⏰ JWT Expiration: " + jwtExpiration + "ms (" + (jwtExpiration / 3600000) + "h)");
+            if (stateless) {
+                System.out.println("⚡ Stateless tokens: roles are read from claims" + (tokenCache ? ", validated tokens cached" : ""));
+            }
             
             return 0;
         } catch (Exception e) {
@@ -1,6 +1,10 @@
 package com.scaffold.commands;
 
 import com.scaffold.generators.ServiceGenerator;
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
+import com.scaffold.source.EntityScanner;
 import com.scaffold.utils.ProjectUtils;
 import lombok.extern.slf4j.Slf4j;
 import picocli.CommandLine.Command;
@@ -18,7 +22,12 @@ import java.util.concurrent.Callable;
         "@|underline Examples:|@",
         "  @|yellow spring-scaffold service UserService|@",
         "  @|yellow spring-scaffold service ProductService -m Product|@",
-        "  @|yellow spring-scaffold service CustomerService --no-interface|@"
+        "  @|yellow spring-scaffold service CustomerService --no-interface|@",
+        "  @|yellow spring-scaffold service CountryService --crud --dto --cache|@",
+        "  @|yellow spring-scaffold service InvoiceService --crud --dto|@",
+        "  @|yellow spring-scaffold service ArticleService --crud --http-caching|@",
+        "  @|yellow spring-scaffold service OrderService --crud --metrics|@",
+        "  @|yellow spring-scaffold service OrderService --crud --export|@"
     },
     mixinStandardHelpOptions = true
 )
@@ -78,6 +87,61 @@ public class ServiceCommand implements Callable<Integer> {
     )
     private boolean includeValidation = false;
 
+    @Option(
+        names = {"--pagination"},
+        description = "Paged read methods: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})",
+        defaultValue = "OFFSET"
+    )
+    private Pagination pagination;
+
+    @Option(
+        names = {"--cache"},
+        description = "Cache reads by ID (@Cacheable), kept in sync on save and delete. Needs the 'cache' project dependency"
+    )
+    private boolean includeCache = false;
+
+    @Option(
+        names = {"--bulk"},
+        description = "Include chunked saveAll/updateAll/deleteAllById for bulk writes"
+    )
+    private boolean includeBulk = false;
+
+    @Option(
+        names = {"--async"},
+        description = "Include CompletableFuture variants of the CRUD methods running on the bounded executor of 'project --concurrency ASYNC'"
+    )
+    private boolean includeAsync = false;
+
+    @Option(
+        names = {"--reactive"},
+        description = "Return Flux/Mono over a reactive repository (repository --type REACTIVE_R2DBC or REACTIVE_MONGO)"
+    )
+    private boolean reactive = false;
+
+    @Option(
+        names = {"--dto"},
+        description = "Read into <Model>Response and create/update from <Model>Request (needs 'model --dto' and 'repository --dto')"
+    )
+    private boolean dto = false;
+
+    @Option(
+        names = {"--http-caching"},
+        description = "Include findVersionById for conditional requests (needs 'repository --http-caching')"
+    )
+    private boolean httpCaching = false;
+
+    @Option(
+        names = {"--metrics"},
+        description = "Time every method with @Timed into the service.invocations histogram (needs 'project --metrics')"
+    )
+    private boolean metrics = false;
+
+    @Option(
+        names = {"--export"},
+        description = "Include exportAll, streaming every row from a cursor in one read-only transaction (needs 'repository --export')"
+    )
+    private boolean export = false;
+
     @Option(
         names = {"-o", "--output"},
         description = "Output directory (default: current directory)"
@@ -106,8 +170,74 @@ public class ServiceCommand implements Callable<Integer> {
                 modelName = inferModelName(serviceName);
                 log.info("Inferred model: {}", modelName);
             }
+
+            if (reactive && (includeCache || includeBulk || includeAsync)) {
+                System.err.println("❌ --reactive cannot be combined with --cache, --bulk or --async");
+                return 1;
+            }
+            if (dto && (reactive || includeBulk || includeAsync)) {
+                System.err.println("❌ --dto cannot be combined with --reactive, --bulk or --async");
+                return 1;
+            }
+            if (includeBulk && !includeCrud) {
+                System.err.println("❌ --bulk needs --crud");
+                return 1;
+            }
+            if (metrics && reactive) {
+                System.err.println("❌ --metrics cannot be combined with --reactive: @Timed does not time Mono/Flux subscriptions");
+                return 1;
+            }
+            if (httpCaching && (reactive || includeAsync)) {
+                System.err.println("❌ --http-caching cannot be combined with --reactive or --async");
+                return 1;
+            }
+            if (export && (!includeCrud || reactive)) {
+                System.err.println("❌ --export needs --crud and cannot be combined with --reactive");
+                return 1;
+            }
+            if (includeAsync && includeCache) {
+                System.err.println("❌ --async cannot be combined with --cache: the Caffeine cache manager does not cache CompletableFuture results");
+                return 1;
+            }
+
+            EntityInfo entity = EntityScanner.findEntity(outputDirectory, modelName, resolvedModelPackage).orElse(null);
+            if (dto && entity != null && entity.isDocument()) {
+                System.err.println("❌ --dto needs a JPA entity: " + modelName + " is a MongoDB document");
+                return 1;
+            }
+            if (includeCache && !dto && (entity == null || !entity.isDocument())) {
+                System.err.println("❌ --cache needs --dto for JPA entities: a cached entity is detached, and reading a "
+                    + "lazy association of a cache hit throws LazyInitializationException");
+                return 1;
+            }
+            if (export && entity != null && entity.isDocument()) {
+                System.err.println("❌ --export needs a JPA entity: " + modelName + " is a MongoDB document");
+                return 1;
+            }
+            if (httpCaching && (entity == null || entity.isDocument() || entity.getVersionName() == null)) {
+                System.err.println("❌ --http-caching needs a JPA entity " + modelName + " with a @Version property (model --http-caching)");
+                return 1;
+            }
+            if (entity != null && entity.isDocument() && includeTransactional) {
+                // Without a MongoTransactionManager bean, @Transactional methods fail at call time
+                System.out.println("⚠️  --transactional ignored: " + modelName + " is a MongoDB document");
+                includeTransactional = false;
+            }
             
             ServiceGenerator generator = new ServiceGenerator();
+            generator.setPagination(pagination);
+            generator.setIncludeCache(includeCache);
+            generator.setIncludeBulk(includeBulk);
+            generator.setIncludeAsync(includeAsync);
+            generator.setReactive(reactive);
+            generator.setDto(dto);
+            generator.setHttpCaching(httpCaching);
+            generator.setMetrics(metrics);
+            generator.setExport(export);
+            generator.setSummaryProjection(!reactive && entity != null && EntityScanner.hasSummary(outputDirectory, entity));
+            if (!reactive && entity != null) {
+                generator.setCollections(entity.getFields().stream().filter(FieldInfo::isToMany).toList());
+            }
             boolean success = generator.generate(
                 serviceName,
                 resolvedServicePackage,
@@ -118,6 +248,7 @@ public class ServiceCommand implements Callable<Integer> {
                 includeCrud,
                 includeTransactional,
                 includeValidation,
+                entity,
                 outputDirectory
             );
 
@@ -134,6 +265,12 @@ public class ServiceCommand implements Callable<Integer> {
                 if (modelName != null) {
                     System.out.println("🔗 Associated model: " + modelName);
                 }
+
+                if (includeCache) {
+                    String cacheName = ServiceGenerator.cacheName(modelName);
+                    System.out.println("🗄️  Cache: " + cacheName + " (size and TTL: app.cache.specs." + cacheName
+                        + "=maximumSize=10000,expireAfterWrite=10m)");
+                }
                 
                 return 0;
             } else {
@@ -0,0 +1,25 @@
+package com.scaffold.doctor;
+
+import java.nio.file.Path;
+
+/**
+ * A performance problem found by the doctor.
+ *
+ * @param rule       Short rule identifier, e.g. {@code ddl-auto-update}
+ * @param file       File path relative to the project root
+ * @param line       1-based line number, or 0 when the finding applies to the whole file
+ * @param fix        Automatic fix, or null when the change needs a human decision
+ */
+public record Finding(String rule, Severity severity, Path file, int line, String message, String suggestion, Fix fix) {
+
+    /**
+     * Replaces one line of the file. A line number one past the end appends; a null
+     * replacement deletes the line. Replacements may span several lines.
+     */
+    public record Fix(int line, String replacement) {
+    }
+
+    public String location() {
+        return line > 0 ? file + ":" + line : file.toString();
+    }
+}
@@ -0,0 +1,271 @@
+package com.scaffold.doctor;
+
+import com.scaffold.source.JavaTokenizer;
+import com.scaffold.source.JavaTokenizer.Kind;
+import com.scaffold.source.JavaTokenizer.Token;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Token-based checks for entities, controllers and security filters.
+ */
+final class JavaRules {
+
+    private static final Set<String> COLLECTION_TYPES = Set.of("List", "Collection", "Set", "Iterable");
+    private static final Set<String> BOUNDING_PARAMETERS = Set.of(
+        "Pageable", "Limit", "ScrollPosition", "size", "limit", "pageSize");
+    private static final Set<String> FILTER_TYPES = Set.of("OncePerRequestFilter", "GenericFilterBean");
+
+    private JavaRules() {
+    }
+
+    static void check(SourceFile file, List<Finding> findings) {
+        List<Token> tokens = JavaTokenizer.tokenize(file.content());
+        boolean controller = hasAnnotation(tokens, "RestController") || hasAnnotation(tokens, "Controller");
+        boolean filter = extendsAny(tokens, FILTER_TYPES);
+        Set<String> declaredIndexes = null;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+
+            if (isQualified(tokens, i, "GenerationType", "IDENTITY")) {
+                Token value = tokens.get(i + 2);
+                findings.add(new Finding("identity-ids", Severity.MEDIUM, file.path(), file.lineOf(value.start()),
+                    "GenerationType.IDENTITY disables JDBC insert batching",
+                    "Use GenerationType.SEQUENCE with a @SequenceGenerator and a pooled allocationSize, and add a "
+                        + "migration creating the sequence with the same increment; not fixed automatically because "
+                        + "the schema has no such sequence yet",
+                    null));
+            } else if (isQualified(tokens, i, "FetchType", "EAGER")) {
+                Token value = tokens.get(i + 2);
+                findings.add(new Finding("eager-fetch", Severity.HIGH, file.path(), file.lineOf(value.start()),
+                    "FetchType.EAGER loads the association on every query (N+1 selects)",
+                    "Use FetchType.LAZY and fetch the association explicitly with JOIN FETCH or @EntityGraph",
+                    file.replaceRange(value.start(), value.end(), "LAZY")));
+            } else if (isAnnotation(tokens, i)) {
+                String name = tokens.get(i + 1).text();
+                int argumentsEnd = annotationEnd(tokens, i);
+
+                if ((name.equals("ManyToOne") || name.equals("OneToOne"))
+                        && !containsIdentifier(tokens, i + 2, argumentsEnd, "fetch")) {
+                    findings.add(new Finding("eager-fetch", Severity.HIGH, file.path(), file.lineOf(token.start()),
+                        "@" + name + " is EAGER by default",
+                        "Declare @" + name + "(fetch = FetchType.LAZY)", null));
+                } else if (name.equals("Column") && isUniqueColumn(tokens, i + 2, argumentsEnd)) {
+                    if (declaredIndexes == null) {
+                        declaredIndexes = tableIndexColumns(tokens);
+                    }
+                    String column = columnName(tokens, i + 2, argumentsEnd);
+                    if (column != null && !declaredIndexes.contains(column.toLowerCase(Locale.ROOT))
+                            && !declaredIndexes.contains(toSnakeCase(column))) {
+                        findings.add(new Finding("unique-without-index", Severity.MEDIUM, file.path(),
+                            file.lineOf(token.start()),
+                            "Unique column '" + column + "' has no declared index",
+                            "Declare it in @Table(indexes = @Index(columnList = \"" + toSnakeCase(column)
+                                + "\", unique = true)) and in the schema migration; unique = true only applies "
+                                + "when Hibernate generates the schema", null));
+                    }
+                } else if (controller && name.equals("GetMapping")) {
+                    checkListEndpoint(file, tokens, argumentsEnd, findings);
+                }
+            } else if (filter && isDatabaseLookup(tokens, i)) {
+                findings.add(new Finding("per-request-user-lookup", Severity.HIGH, file.path(),
+                    file.lineOf(token.start()),
+                    "Authentication filter loads the user from the database on every request",
+                    "Put the authorities in the token claims and build the Authentication from the parsed token",
+                    null));
+            }
+        }
+    }
+
+    private static void checkListEndpoint(SourceFile file, List<Token> tokens, int from, List<Finding> findings) {
+        int i = from;
+        while (isAnnotation(tokens, i)) {
+            i = annotationEnd(tokens, i);
+        }
+        int nameIndex = i;
+        while (nameIndex + 1 < tokens.size() && !tokens.get(nameIndex + 1).isSymbol('(')) {
+            if (tokens.get(nameIndex).isSymbol(';') || tokens.get(nameIndex).isSymbol('{')) {
+                return;
+            }
+            nameIndex++;
+        }
+        if (nameIndex + 1 >= tokens.size()) {
+            return;
+        }
+        boolean returnsCollection = false;
+        for (int j = i; j < nameIndex; j++) {
+            Token token = tokens.get(j);
+            if (token.is("Page") || token.is("Slice") || token.is("Window")) {
+                return;
+            }
+            returnsCollection |= token.isIdentifier() && COLLECTION_TYPES.contains(token.text());
+        }
+        int parametersEnd = matching(tokens, nameIndex + 1);
+        if (!returnsCollection) {
+            return;
+        }
+        for (int j = nameIndex + 2; j < parametersEnd; j++) {
+            if (tokens.get(j).isIdentifier() && BOUNDING_PARAMETERS.contains(tokens.get(j).text())) {
+                return;
+            }
+        }
+        Token name = tokens.get(nameIndex);
+        findings.add(new Finding("unbounded-list", Severity.HIGH, file.path(), file.lineOf(name.start()),
+            "GET endpoint " + name.text() + "() returns every row of the table",
+            "Accept a Pageable (or a keyset cursor) and return Page/Slice with a maximum page size", null));
+    }
+
+    private static boolean isDatabaseLookup(List<Token> tokens, int i) {
+        Token token = tokens.get(i);
+        if (!token.isIdentifier() || i + 1 >= tokens.size() || !tokens.get(i + 1).isSymbol('(')) {
+            return false;
+        }
+        if (token.is("loadUserByUsername")) {
+            return true;
+        }
+        return i >= 2 && tokens.get(i - 1).isSymbol('.') && token.text().startsWith("find")
+            && tokens.get(i - 2).text().endsWith("Repository");
+    }
+
+    private static boolean isUniqueColumn(List<Token> tokens, int from, int to) {
+        for (int i = from; i + 2 < to; i++) {
+            if (tokens.get(i).is("unique") && tokens.get(i + 1).isSymbol('=') && tokens.get(i + 2).is("true")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the explicit column name, or the name of the annotated field.
+     */
+    private static String columnName(List<Token> tokens, int from, int to) {
+        for (int i = from; i + 2 < to; i++) {
+            if (tokens.get(i).is("name") && tokens.get(i + 1).isSymbol('=') && tokens.get(i + 2).kind() == Kind.STRING) {
+                String literal = tokens.get(i + 2).text();
+                return literal.substring(1, literal.length() - 1);
+            }
+        }
+        int i = to;
+        while (isAnnotation(tokens, i)) {
+            i = annotationEnd(tokens, i);
+        }
+        String last = null;
+        for (; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.isSymbol(';') || token.isSymbol('=') || token.isSymbol('(')) {
+                return token.isSymbol('(') ? null : last;
+            }
+            if (token.isIdentifier()) {
+                last = token.text();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the lower-cased column names listed in the {@code @Table} indexes and unique constraints.
+     */
+    private static Set<String> tableIndexColumns(List<Token> tokens) {
+        Set<String> columns = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (isAnnotation(tokens, i) && tokens.get(i + 1).is("Table")) {
+                int end = annotationEnd(tokens, i);
+                for (int j = i + 2; j < end; j++) {
+                    if (tokens.get(j).kind() == Kind.STRING && listsColumns(tokens, j)) {
+                        String literal = tokens.get(j).text();
+                        for (String column : literal.substring(1, literal.length() - 1).split(",")) {
+                            columns.add(column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        return columns;
+    }
+
+    private static boolean listsColumns(List<Token> tokens, int literal) {
+        for (int i = literal - 1; i >= 0; i--) {
+            Token token = tokens.get(i);
+            if (token.isIdentifier()) {
+                return token.is("columnList") || token.is("columnNames");
+            }
+            if (!token.isSymbol('=') && !token.isSymbol('{') && !token.isSymbol(',') && token.kind() != Kind.STRING) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(List<Token> tokens, String name) {
+        for (int i = 0; i < tokens.size(); i++) {
+            if (isAnnotation(tokens, i) && tokens.get(i + 1).is(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean extendsAny(List<Token> tokens, Set<String> types) {
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            if (tokens.get(i).is("extends") && types.contains(tokens.get(i + 1).text())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isQualified(List<Token> tokens, int i, String type, String constant) {
+        return i + 2 < tokens.size() && tokens.get(i).is(type)
+            && tokens.get(i + 1).isSymbol('.') && tokens.get(i + 2).is(constant);
+    }
+
+    private static boolean isAnnotation(List<Token> tokens, int i) {
+        return i + 1 < tokens.size() && tokens.get(i).isSymbol('@') && tokens.get(i + 1).isIdentifier()
+            && !tokens.get(i + 1).is("interface");
+    }
+
+    /**
+     * Returns the index just past an annotation, including a qualified name and its arguments.
+     */
+    private static int annotationEnd(List<Token> tokens, int i) {
+        int j = i + 2;
+        while (j + 1 < tokens.size() && tokens.get(j).isSymbol('.') && tokens.get(j + 1).isIdentifier()) {
+            j += 2;
+        }
+        if (j < tokens.size() && tokens.get(j).isSymbol('(')) {
+            return matching(tokens, j) + 1;
+        }
+        return j;
+    }
+
+    private static int matching(List<Token> tokens, int open) {
+        int depth = 0;
+        for (int i = open; i < tokens.size(); i++) {
+            if (tokens.get(i).isSymbol('(')) {
+                depth++;
+            } else if (tokens.get(i).isSymbol(')') && --depth == 0) {
+                return i;
+            }
+        }
+        return tokens.size() - 1;
+    }
+
+    private static boolean containsIdentifier(List<Token> tokens, int from, int to, String name) {
+        for (int i = from; i < to; i++) {
+            if (tokens.get(i).is(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toSnakeCase(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
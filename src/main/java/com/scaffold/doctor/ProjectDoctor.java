@@ -0,0 +1,139 @@
+package com.scaffold.doctor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Static analyzer for performance anti-patterns in Spring Boot projects: schema generation and
+ * SQL echo in production settings, verbose logging, Open Session in View, IDENTITY ids, EAGER
+ * associations, unique columns without an index, unbounded list endpoints and per-request user
+ * lookups in authentication filters.
+ *
+ * Java sources and {@code application*.properties} files are read and checked in parallel.
+ */
+@Slf4j
+public class ProjectDoctor {
+
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+        "target", "build", "node_modules", ".git", ".gradle", ".idea", ".spring-scaffold");
+
+    private static final Comparator<Finding> BY_LOCATION = Comparator
+        .comparing((Finding finding) -> finding.file().toString())
+        .thenComparingInt(Finding::line)
+        .thenComparing(Finding::rule);
+
+    private final Path projectRoot;
+
+    public ProjectDoctor(Path projectRoot) {
+        this.projectRoot = projectRoot.toAbsolutePath().normalize();
+    }
+
+    public record Report(int filesChecked, List<Finding> findings) {
+
+        public long count(Severity severity) {
+            return findings.stream().filter(finding -> finding.severity() == severity).count();
+        }
+    }
+
+    public Report examine() throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = collectFiles();
+
+        List<SourceFile> sources;
+        try {
+            sources = files.parallelStream().map(this::read).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<Finding> findings = sources.parallelStream()
+            .flatMap(source -> check(source).stream())
+            .collect(Collectors.toCollection(ArrayList::new));
+        PropertiesRules.checkOpenInView(
+            sources.stream().filter(ProjectDoctor::isProperties).collect(Collectors.toList()), findings);
+        findings.sort(BY_LOCATION);
+
+        log.debug("Checked {} files in {} ms", files.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Report(files.size(), findings);
+    }
+
+    /**
+     * Builds a unified diff with the automatic fixes of the given findings, relative to the project root.
+     *
+     * @return The patch, empty when none of the findings can be fixed automatically
+     */
+    public String createPatch(List<Finding> findings) throws IOException {
+        Map<Path, Map<Integer, Finding.Fix>> fixesByFile = new TreeMap<>();
+        for (Finding finding : findings) {
+            if (finding.fix() != null) {
+                fixesByFile.computeIfAbsent(finding.file(), file -> new TreeMap<>())
+                    .putIfAbsent(finding.fix().line(), finding.fix());
+            }
+        }
+        StringBuilder patch = new StringBuilder();
+        for (Map.Entry<Path, Map<Integer, Finding.Fix>> entry : fixesByFile.entrySet()) {
+            SourceFile file = SourceFile.read(projectRoot, projectRoot.resolve(entry.getKey()));
+            patch.append(UnifiedDiff.write(file, entry.getValue()));
+        }
+        return patch.toString();
+    }
+
+    private List<Finding> check(SourceFile file) {
+        List<Finding> findings = new ArrayList<>();
+        if (isProperties(file)) {
+            PropertiesRules.check(file, findings);
+        } else {
+            JavaRules.check(file, findings);
+        }
+        return findings;
+    }
+
+    private SourceFile read(Path file) {
+        try {
+            return SourceFile.read(projectRoot, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> collectFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(projectRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                return !dir.equals(projectRoot) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())
+                    ? FileVisitResult.SKIP_SUBTREE
+                    : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".java")
+                        || (name.startsWith("application") && name.endsWith(".properties"))) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    private static boolean isProperties(SourceFile file) {
+        return file.path().getFileName().toString().endsWith(".properties");
+    }
+}
@@ -0,0 +1,113 @@
+package com.scaffold.doctor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks for Spring Boot {@code application*.properties} files.
+ */
+final class PropertiesRules {
+
+    static final String OPEN_IN_VIEW = "spring.jpa.open-in-view";
+
+    private static final Set<String> SCHEMA_GENERATING_MODES = Set.of("update", "create", "create-drop");
+
+    private PropertiesRules() {
+    }
+
+    static void check(SourceFile file, List<Finding> findings) {
+        for (int number = 1; number <= file.lineCount(); number++) {
+            String line = file.line(number);
+            Map.Entry<String, String> property = parse(line);
+            if (property == null) {
+                continue;
+            }
+            String key = property.getKey();
+            String value = property.getValue();
+
+            if (key.equals("spring.jpa.show-sql") && value.equalsIgnoreCase("true")) {
+                findings.add(new Finding("show-sql", Severity.MEDIUM, file.path(), number,
+                    "SQL statements are printed to stdout synchronously",
+                    "Disable show-sql; use logging.level.org.hibernate.SQL=DEBUG only when investigating",
+                    new Finding.Fix(number, key + "=false")));
+            } else if (key.equals("spring.jpa.hibernate.ddl-auto") && SCHEMA_GENERATING_MODES.contains(value)) {
+                findings.add(new Finding("ddl-auto-" + value, Severity.HIGH, file.path(), number,
+                    "Hibernate alters the schema at startup (ddl-auto=" + value + ")",
+                    "Manage the schema with migrations and use ddl-auto=validate",
+                    new Finding.Fix(number, key + "=validate")));
+            } else if (key.equals(OPEN_IN_VIEW) && value.equalsIgnoreCase("true")) {
+                findings.add(new Finding("open-in-view", Severity.HIGH, file.path(), number,
+                    "Open Session in View keeps a connection for the whole request",
+                    "Disable it and load what the view needs inside the service",
+                    new Finding.Fix(number, key + "=false")));
+            } else if (key.startsWith("logging.level.") && isVerbose(value)) {
+                boolean malformed = value.contains("=");
+                findings.add(new Finding("verbose-logging", Severity.MEDIUM, file.path(), number,
+                    malformed
+                        ? "Malformed logging level entry '" + line.trim() + "'"
+                        : key.substring("logging.level.".length()) + " logs at " + value.toUpperCase(Locale.ROOT),
+                    malformed
+                        ? "Remove the entry or use logging.level.<package>=<LEVEL>"
+                        : "Use INFO outside development profiles",
+                    new Finding.Fix(number, malformed ? null : key + "=INFO")));
+            }
+        }
+    }
+
+    /**
+     * Reports files that configure JPA without disabling Open Session in View, which Spring Boot
+     * enables by default. Profile-specific files inherit the setting from the base file.
+     */
+    static void checkOpenInView(List<SourceFile> files, List<Finding> findings) {
+        SourceFile target = null;
+        for (SourceFile file : files) {
+            boolean usesJpa = false;
+            for (int number = 1; number <= file.lineCount(); number++) {
+                Map.Entry<String, String> property = parse(file.line(number));
+                if (property == null) {
+                    continue;
+                }
+                if (property.getKey().equals(OPEN_IN_VIEW)) {
+                    return;
+                }
+                usesJpa |= property.getKey().startsWith("spring.jpa.") || property.getKey().startsWith("spring.datasource.");
+            }
+            boolean base = file.path().getFileName().toString().equals("application.properties");
+            if (usesJpa && (target == null || base)) {
+                target = file;
+            }
+        }
+        if (target != null) {
+            findings.add(new Finding("open-in-view", Severity.HIGH, target.path(), 0,
+                "Open Session in View is enabled by default and keeps a connection for the whole request",
+                "Set " + OPEN_IN_VIEW + "=false",
+                new Finding.Fix(target.lineCount() + 1, OPEN_IN_VIEW + "=false")));
+        }
+    }
+
+    private static boolean isVerbose(String value) {
+        String level = value.substring(value.lastIndexOf('=') + 1).trim();
+        return level.equalsIgnoreCase("DEBUG") || level.equalsIgnoreCase("TRACE");
+    }
+
+    private static Map.Entry<String, String> parse(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("!")) {
+            return null;
+        }
+        int separator = -1;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '=' || c == ':') {
+                separator = i;
+                break;
+            }
+        }
+        if (separator < 0) {
+            return null;
+        }
+        return Map.entry(trimmed.substring(0, separator).trim(), trimmed.substring(separator + 1).trim());
+    }
+}
@@ -0,0 +1,5 @@
+package com.scaffold.doctor;
+
+public enum Severity {
+    HIGH, MEDIUM, LOW
+}
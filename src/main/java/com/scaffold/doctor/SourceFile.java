@@ -0,0 +1,91 @@
+package com.scaffold.doctor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * File content with a line index, so token offsets can be turned into line numbers.
+ */
+final class SourceFile {
+
+    private final Path path;
+    private final String content;
+    private final int[] lineStarts;
+
+    SourceFile(Path path, String content) {
+        this.path = path;
+        this.content = content;
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) == '\n' && i + 1 < content.length()) {
+                starts.add(i + 1);
+            }
+        }
+        this.lineStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static SourceFile read(Path root, Path file) throws IOException {
+        return new SourceFile(root.relativize(file), Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    String content() {
+        return content;
+    }
+
+    int lineCount() {
+        return content.isEmpty() ? 0 : lineStarts.length;
+    }
+
+    boolean endsWithNewline() {
+        return content.isEmpty() || content.charAt(content.length() - 1) == '\n';
+    }
+
+    /**
+     * Returns the 1-based line number of a character offset.
+     */
+    int lineOf(int offset) {
+        int index = Arrays.binarySearch(lineStarts, offset);
+        return (index >= 0 ? index : -index - 2) + 1;
+    }
+
+    /**
+     * Returns a line without its line terminator.
+     */
+    String line(int number) {
+        int start = lineStarts[number - 1];
+        int end = number < lineStarts.length ? lineStarts[number] - 1 : content.length();
+        if (end > start && content.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return content.substring(start, end);
+    }
+
+    List<String> lines() {
+        List<String> lines = new ArrayList<>(lineCount());
+        for (int i = 1; i <= lineCount(); i++) {
+            lines.add(line(i));
+        }
+        return lines;
+    }
+
+    /**
+     * Builds a fix that replaces the characters between two offsets on a single line.
+     */
+    Finding.Fix replaceRange(int start, int end, String replacement) {
+        int number = lineOf(start);
+        int lineStart = lineStarts[number - 1];
+        String line = line(number);
+        return new Finding.Fix(number,
+            line.substring(0, start - lineStart) + replacement + line.substring(end - lineStart));
+    }
+}
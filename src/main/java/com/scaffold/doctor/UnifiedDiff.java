@@ -0,0 +1,109 @@
+package com.scaffold.doctor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes line fixes as a unified diff that applies with {@code git apply} or {@code patch -p1}.
+ */
+final class UnifiedDiff {
+
+    private static final int CONTEXT = 3;
+    private static final String NO_NEWLINE = "\\ No newline at end of file";
+
+    private record DiffLine(char op, String text) {
+    }
+
+    private UnifiedDiff() {
+    }
+
+    static String write(SourceFile file, Map<Integer, Finding.Fix> fixes) {
+        List<DiffLine> lines = new ArrayList<>();
+        int count = file.lineCount();
+        for (int number = 1; number <= count; number++) {
+            String text = file.line(number);
+            Finding.Fix fix = fixes.get(number);
+            boolean last = number == count;
+            if (fix == null && !(last && !file.endsWithNewline())) {
+                lines.add(new DiffLine(' ', text));
+                continue;
+            }
+            lines.add(new DiffLine('-', text));
+            if (last && !file.endsWithNewline()) {
+                lines.add(new DiffLine('\\', NO_NEWLINE));
+            }
+            String replacement = fix != null ? fix.replacement() : text;
+            if (replacement != null) {
+                for (String added : replacement.split("\n", -1)) {
+                    lines.add(new DiffLine('+', added));
+                }
+            }
+        }
+        Finding.Fix append = fixes.get(count + 1);
+        if (append != null) {
+            for (String added : append.replacement().split("\n", -1)) {
+                lines.add(new DiffLine('+', added));
+            }
+        }
+
+        String path = file.path().toString().replace('\\', '/');
+        StringBuilder diff = new StringBuilder();
+        diff.append("--- a/").append(path).append('\n');
+        diff.append("+++ b/").append(path).append('\n');
+
+        int i = 0;
+        while (i < lines.size()) {
+            if (lines.get(i).op() == ' ') {
+                i++;
+                continue;
+            }
+            int start = Math.max(0, i - CONTEXT);
+            int end = i;
+            int unchanged = 0;
+            for (int j = i; j < lines.size() && unchanged <= 2 * CONTEXT; j++) {
+                if (lines.get(j).op() == ' ') {
+                    unchanged++;
+                } else {
+                    end = j;
+                    unchanged = 0;
+                }
+            }
+            end = Math.min(lines.size() - 1, end + CONTEXT);
+            if (end + 1 < lines.size() && lines.get(end + 1).op() == '\\') {
+                end++;
+            }
+            appendHunk(diff, lines, start, end);
+            i = end + 1;
+        }
+        return diff.toString();
+    }
+
+    private static void appendHunk(StringBuilder diff, List<DiffLine> lines, int start, int end) {
+        int oldStart = 1;
+        int newStart = 1;
+        for (int i = 0; i < start; i++) {
+            char op = lines.get(i).op();
+            oldStart += op == ' ' || op == '-' ? 1 : 0;
+            newStart += op == ' ' || op == '+' ? 1 : 0;
+        }
+        int oldCount = 0;
+        int newCount = 0;
+        for (int i = start; i <= end; i++) {
+            char op = lines.get(i).op();
+            oldCount += op == ' ' || op == '-' ? 1 : 0;
+            newCount += op == ' ' || op == '+' ? 1 : 0;
+        }
+        diff.append("@@ -").append(oldCount == 0 ? oldStart - 1 : oldStart).append(',').append(oldCount)
+            .append(" +").append(newCount == 0 ? newStart - 1 : newStart).append(',').append(newCount)
+            .append(" @@\n");
+        for (int i = start; i <= end; i++) {
+            DiffLine line = lines.get(i);
+            if (line.op() == '\\') {
+                diff.append(line.text()).append('\n');
+            } else {
+                diff.append(line.op()).append(line.text()).append('\n');
+            }
+        }
+    }
+}
@@ -1,19 +1,122 @@
 package com.scaffold.generators;
 
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
 import com.scaffold.templates.TemplateEngine;
-import com.scaffold.utils.FileUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
 
 @Slf4j
 public class ControllerGenerator {
 
+    /**
+     * Parsers of the ID types that can serve as a keyset cursor
+     */
+    private static final Map<String, String> CURSOR_PARSERS = Map.of(
+        "Long", "Long.valueOf",
+        "Integer", "Integer.valueOf",
+        "String", "String.valueOf",
+        "UUID", "UUID.fromString");
+
+    /**
+     * Load test dependency, added to the project's pom.xml with test scope
+     */
+    private static final String HDR_HISTOGRAM_VERSION = "2.2.2";
+
     private final TemplateEngine templateEngine;
 
+    @Setter
+    private Pagination pagination = Pagination.OFFSET;
+
+    /**
+     * Largest page a paginated list endpoint returns, whatever size the client asks for
+     */
+    @Setter
+    private int maxPageSize = 100;
+
+    /**
+     * POST/PUT/DELETE /bulk endpoints backed by the service's chunked bulk methods
+     */
+    @Setter
+    private boolean includeBulk;
+
+    /**
+     * CRUD endpoints returning CompletableFuture, backed by the service's async variants
+     */
+    @Setter
+    private boolean includeAsync;
+
+    /**
+     * WebFlux endpoints over a reactive service, streaming list responses as NDJSON
+     */
+    @Setter
+    private boolean reactive;
+
+    /**
+     * List reads return the model's {@code <Model>Summary} projection instead of whole entities
+     */
+    @Setter
+    private boolean summaryProjection;
+
+    /**
+     * Collection associations of the entity, served page by page under {@code /{id}/<field>}
+     */
+    @Setter
+    private List<FieldInfo> collections = List.of();
+
+    /**
+     * Request bodies bind to {@code <Model>Request} and responses carry {@code <Model>Response} records
+     */
+    @Setter
+    private boolean dto;
+
+    /**
+     * ETags from the entity version: reads answer If-None-Match with 304, writes require If-Match
+     */
+    @Setter
+    private boolean httpCaching;
+
+    /**
+     * Seconds clients may reuse a list response before asking again, sent as Cache-Control max-age
+     */
+    @Setter
+    private int listMaxAge = 10;
+
+    /**
+     * Also write {@code <Model>LoadTest}, driving the CRUD endpoints through the shared {@code LoadDriver}
+     */
+    @Setter
+    private boolean loadTest;
+
+    /**
+     * Base package of the project; load tests go to its {@code loadtest} sub-package under src/test/java
+     */
+    @Setter
+    private String basePackage;
+
+    /**
+     * {@code GET /export} streaming every row as NDJSON or CSV from the service's exportAll
+     */
+    @Setter
+    private boolean export;
+
     public ControllerGenerator() {
-        this.templateEngine = new TemplateEngine();
+        this(new TemplateEngine());
+    }
+
+    public ControllerGenerator(TemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
     }
 
     public boolean generate(
@@ -26,6 +129,7 @@ public class ControllerGenerator {
             boolean includeCrud,
             boolean includeSwagger,
             boolean includeValidation,
+            EntityInfo entity,
             String outputDirectory) {
         
         try {
@@ -41,6 +145,21 @@ public class ControllerGenerator {
             context.put("includeCrud", includeCrud);
             context.put("includeSwagger", includeSwagger);
             context.put("includeValidation", includeValidation);
+            putEntityContext(context, entity);
+            putPaginationContext(context);
+            putCollectionContext(context, modelName);
+            context.put("includeBulk", includeBulk);
+            context.put("includeAsync", includeAsync);
+            context.put("summaryProjection", summaryProjection);
+            context.put("dto", dto);
+            context.put("dtoPackage", ModelGenerator.dtoPackage(modelPackage));
+            context.put("readType", dto ? modelName + "Response" : modelName);
+            context.put("httpCaching", httpCaching);
+            context.put("listMaxAge", listMaxAge);
+            context.put("versionAccessor", dto ? "version" : "getVersion");
+            context.put("listResponse", httpCaching ? "ResponseEntity.ok().cacheControl(LIST_CACHE_CONTROL).body" : "ResponseEntity.ok");
+            context.put("listType", summaryProjection ? modelName + "Summary" : dto ? modelName + "Response" : modelName);
+            putExportContext(context, modelName, entity);
             
             String serviceName = modelName + "Service";
             String serviceInstanceName = Character.toLowerCase(serviceName.charAt(0)) + serviceName.substring(1);
@@ -59,17 +178,20 @@ public class ControllerGenerator {
             log.info("- Service: {}", serviceName);
             log.info("- Resource Path: {}", resourcePath);
             log.info("- Base Path: {}", basePath);
-            
-            String code = templateEngine.processTemplate("controller.java.mustache", context);
+            log.info("- Pagination: {}", pagination);
             
             String packagePath = packageName.replace(".", "/");
             String fullPath = outputDirectory + "/src/main/java/" + packagePath;
-            FileUtils.createDirectories(fullPath);
             
             String fileName = fullPath + "/" + controllerName + ".java";
-            FileUtils.createFile(fileName, code);
+            templateEngine.renderToFile(reactive ? "controller-reactive.java.mustache" : "controller.java.mustache",
+                    context, fileName);
             
             log.info("Controller {} generated successfully at {}", controllerName, fileName);
+
+            if (loadTest) {
+                generateLoadTest(context, entity, outputDirectory);
+            }
             return true;
             
         } catch (Exception e) {
@@ -77,4 +199,194 @@ public class ControllerGenerator {
             return false;
         }
     }
+
+    private void generateLoadTest(Map<String, Object> context, EntityInfo entity, String outputDirectory) throws IOException {
+        String loadTestPackage = basePackage + ".loadtest";
+        String testPath = outputDirectory + "/src/test/java/" + loadTestPackage.replace(".", "/");
+        context.put("basePackage", basePackage);
+        context.put("loadTestPackage", loadTestPackage);
+        context.put("jsonIdName", dto ? "id" : entity.getIdName());
+        context.put("listQuery", pagination == Pagination.OFFSET ? "?page=0&size=20"
+            : pagination == Pagination.KEYSET ? "?size=20" : "");
+
+        TreeSet<String> imports = new TreeSet<>(List.of(
+            "java.io.IOException", "java.net.http.HttpResponse", "java.util.concurrent.atomic.AtomicLong"));
+        List<Map<String, String>> payloadFields = entity.getFields().stream()
+            .filter(field -> !field.isRelation() && payloadValue(field) != null)
+            .map(field -> {
+                // Dates are sent as epoch milliseconds, without java.util.Date or java.sql.Timestamp
+                String required = field.getRequiredImport();
+                if (required != null && !field.getType().equals("Date") && !field.getType().equals("Timestamp")) {
+                    imports.add(required);
+                }
+                return Map.of("name", field.getName(), "value", payloadValue(field));
+            })
+            .toList();
+        context.put("javaImports", imports);
+        context.put("payloadFields", payloadFields);
+
+        if (!Files.exists(Path.of(testPath, "LoadDriver.java"))) {
+            templateEngine.renderToFile("loadtest-driver.java.mustache", context, testPath + "/LoadDriver.java");
+        }
+        templateEngine.renderToFile("loadtest.java.mustache", context,
+            testPath + "/" + context.get("modelName") + "LoadTest.java");
+        addLoadTestDependency(outputDirectory);
+    }
+
+    /**
+     * Java expression of a field value in the n-th load test payload, or null when the type has no
+     * JSON form the test can build
+     */
+    static String payloadValue(FieldInfo field) {
+        String range = field.isUnique()
+            ? "n"
+            : "LoadDriver.between(n, " + bound(field.getMinValue(), 0) + ", " + bound(field.getMaxValue(), 1000) + ")";
+        switch (field.getType()) {
+            case "String":
+                return field.getName().toLowerCase().contains("email")
+                    ? "\"user\" + n + \"@example.com\""
+                    : "LoadDriver.text(\"" + field.getName() + "\", n, " + Objects.requireNonNullElse(field.getMaxLength(), 255) + ")";
+            case "Integer":
+            case "int":
+                return "(int) " + range;
+            case "Short":
+            case "short":
+                return "(short) " + range;
+            case "Long":
+            case "long":
+                return range;
+            case "Double":
+            case "double":
+                return "(double) " + range;
+            case "Float":
+            case "float":
+                return "(float) " + range;
+            case "BigDecimal":
+                return "BigDecimal.valueOf(" + range + ")";
+            case "BigInteger":
+                return "BigInteger.valueOf(" + range + ")";
+            case "Boolean":
+            case "boolean":
+                return "n % 2 == 0";
+            case "LocalDate":
+                return "LocalDate.now().minusDays(n % 365).toString()";
+            case "LocalDateTime":
+                return "LocalDateTime.now().minusMinutes(n % 10_000).withNano(0).toString()";
+            case "LocalTime":
+                return "LocalTime.of((int) (n % 24), (int) (n % 60)).toString()";
+            case "Instant":
+                return "Instant.now().minusSeconds(n % 86_400).toString()";
+            case "Date":
+            case "Timestamp":
+                return "System.currentTimeMillis() - n % 86_400_000";
+            case "UUID":
+                return "UUID.randomUUID().toString()";
+            default:
+                return null;
+        }
+    }
+
+    private static long bound(String value, long fallback) {
+        try {
+            return value == null ? fallback : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private void addLoadTestDependency(String outputDirectory) throws IOException {
+        Path pomFile = Path.of(outputDirectory, "pom.xml");
+        if (!Files.exists(pomFile)) {
+            log.warn("pom.xml not found at: {}, add org.hdrhistogram:HdrHistogram with test scope", pomFile);
+            return;
+        }
+        String pomContent = Files.readString(pomFile);
+        int endIndex = pomContent.indexOf("</dependencies>");
+        if (pomContent.contains("<artifactId>HdrHistogram</artifactId>") || endIndex == -1) {
+            return;
+        }
+        String dependency = "    <!-- Load tests -->\n"
+            + "        <dependency>\n"
+            + "            <groupId>org.hdrhistogram</groupId>\n"
+            + "            <artifactId>HdrHistogram</artifactId>\n"
+            + "            <version>" + HDR_HISTOGRAM_VERSION + "</version>\n"
+            + "            <scope>test</scope>\n"
+            + "        </dependency>\n    ";
+        Files.writeString(pomFile, pomContent.substring(0, endIndex) + dependency + pomContent.substring(endIndex));
+        log.info("HdrHistogram test dependency added to pom.xml");
+    }
+
+    private void putExportContext(Map<String, Object> context, String modelName, EntityInfo entity) {
+        context.put("export", export);
+        context.put("httpHeadersImport", httpCaching || export);
+        context.put("charsetImport", export || pagination == Pagination.KEYSET);
+        if (!export) {
+            return;
+        }
+        context.put("exportType", dto ? modelName + "Response" : modelName);
+
+        // Columns follow the Response record: the ID, then each value, to-one associations as their target's ID
+        String idName = dto ? "id" : entity.getIdName();
+        List<String> header = new ArrayList<>(List.of(idName));
+        List<String> values = new ArrayList<>(List.of("csv(item." + context.get("idAccessor") + "())"));
+        for (FieldInfo field : entity.getFields()) {
+            if (field.isToMany()) {
+                continue;
+            }
+            header.add(field.getDtoName());
+            if (dto) {
+                values.add("csv(item." + field.getDtoName() + "())");
+                continue;
+            }
+            // Lombok names the getter of a primitive boolean isX()
+            String getter = "item." + (field.getType().equals("boolean") ? "is" : "get")
+                + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1) + "()";
+            values.add(field.isRelation() ? "csv(" + getter + " == null ? null : " + getter + ".getId())" : "csv(" + getter + ")");
+        }
+        context.put("csvHeader", String.join(",", header));
+        context.put("csvValues", String.join(",\n                ", values));
+    }
+
+    private void putEntityContext(Map<String, Object> context, EntityInfo entity) {
+        String idType = entity != null ? entity.getIdType() : "Long";
+        String idName = entity != null ? entity.getIdName() : "id";
+        context.put("idType", idType);
+        context.put("idTypeImport", new FieldInfo(idName, idType).getRequiredImport());
+        context.put("idCapitalizedName", Character.toUpperCase(idName.charAt(0)) + idName.substring(1));
+        // Response records expose the ID as id()
+        context.put("idAccessor", dto ? "id" : "get" + Character.toUpperCase(idName.charAt(0)) + idName.substring(1));
+    }
+
+    private void putCollectionContext(Map<String, Object> context, String modelName) {
+        context.put("hasCollections", !collections.isEmpty());
+        context.put("collections", collections.stream()
+            .map(field -> Map.of(
+                "name", field.getName(),
+                "capitalizedName", Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1),
+                "target", field.getTarget()))
+            .toList());
+        context.put("boundedPages", pagination != Pagination.NONE || !collections.isEmpty());
+        context.put("pageImports", pagination == Pagination.OFFSET || !collections.isEmpty());
+        context.put("relationImports", collections.stream()
+            .map(FieldInfo::getTarget)
+            .filter(target -> !target.equals(modelName))
+            .distinct()
+            .sorted()
+            .toList());
+    }
+
+    private void putPaginationContext(Map<String, Object> context) {
+        context.put("paginated", pagination != Pagination.NONE);
+        context.put("includePagination", pagination == Pagination.OFFSET);
+        context.put("includeKeyset", pagination == Pagination.KEYSET);
+        context.put("maxPageSize", maxPageSize);
+        if (pagination == Pagination.KEYSET) {
+            String idType = (String) context.get("idType");
+            String parser = CURSOR_PARSERS.get(idType);
+            if (parser == null) {
+                throw new IllegalArgumentException("Keyset pagination needs a Long, Integer, String or UUID ID, not " + idType);
+            }
+            context.put("cursorParser", parser);
+        }
+    }
 }
@@ -1,18 +1,83 @@
 package com.scaffold.generators;
 
+import com.scaffold.commands.ModelCommand.IdStrategy;
+import com.scaffold.commands.ModelCommand.Persistence;
 import com.scaffold.models.FieldInfo;
 import com.scaffold.templates.TemplateEngine;
 import com.scaffold.utils.FileUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 public class ModelGenerator {
 
+    private static final String MIGRATION_DIRECTORY = "src/main/resources/db/migration";
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__.*\\.sql");
+
+    /**
+     * Collection elements loaded per query; matches hibernate.default_batch_fetch_size of generated projects
+     */
+    private static final int BATCH_FETCH_SIZE = 50;
+
     private final TemplateEngine templateEngine;
 
+    /**
+     * SEQUENCE uses a pooled sequence so that Hibernate can batch inserts
+     */
+    @Setter
+    private IdStrategy idStrategy = IdStrategy.SEQUENCE;
+
+    /**
+     * R2DBC and MONGODB map the class with Spring Data Relational or MongoDB annotations instead of JPA
+     */
+    @Setter
+    private Persistence persistence = Persistence.JPA;
+
+    /**
+     * Composite indexes, each a list of field names in index order
+     */
+    @Setter
+    private List<List<String>> compoundIndexes = List.of();
+
+    /**
+     * Writes MySQL DDL in schema scripts and migrations: AUTO_INCREMENT ids and MySQL column types
+     */
+    @Setter
+    private boolean mysql;
+
+    /**
+     * Writes a Flyway migration creating the table of a JPA entity
+     */
+    @Setter
+    private boolean migration;
+
+    /**
+     * Version of that migration; the next free version of the project when null
+     */
+    @Setter
+    private Integer migrationVersion;
+
+    /**
+     * Writes {@code <Model>Request}/{@code <Model>Response} records and a {@code <Model>Mapper} to the DTO package
+     */
+    @Setter
+    private boolean dto;
+
+    /**
+     * Adds a {@code @Version} column, checked on update and exposed as the ETag of the entity
+     */
+    @Setter
+    private boolean versioned;
+
     public ModelGenerator() {
         this.templateEngine = new TemplateEngine();
     }
@@ -29,38 +94,57 @@ public class ModelGenerator {
         
         try {
             log.info("Generating model {} in package {}", className, packageName);
+            if (persistence != Persistence.JPA) {
+                includeJpa = false;
+            }
             
             // Infer table name if not specified
             if (tableName == null || tableName.trim().isEmpty()) {
                 tableName = inferTableName(className);
             }
             
-            log.info("Configuration:");
-            log.info("- Classe: {}", className);
-            log.info("- Package: {}", packageName);
-            log.info("- Tabela: {}", tableName);
-            log.info("- JPA: {}", includeJpa);
-            log.info("- Lombok: {}", useLombok);
-            log.info("- Validação: {}", includeValidation);
-            log.info("- Campos: {}", fields.size());
+            log.debug("Configuration:");
+            log.debug("- Classe: {}", className);
+            log.debug("- Package: {}", packageName);
+            log.debug("- Tabela: {}", tableName);
+            log.debug("- JPA: {}", includeJpa);
+            log.debug("- Persistence: {}", persistence);
+            log.debug("- ID: {}", idStrategy);
+            log.debug("- Lombok: {}", useLombok);
+            log.debug("- Validação: {}", includeValidation);
+            log.debug("- Campos: {}", fields.size());
             
-            for (FieldInfo field : fields) {
-                log.info("  - {}: {}", field.getName(), field.getType());
+            if (log.isDebugEnabled()) {
+                for (FieldInfo field : fields) {
+                    log.debug("  - {}: {}", field.getName(), field.getType());
+                }
             }
             
             // Preparar contexto do template
             Map<String, Object> context = prepareTemplateContext(
-                className, packageName, fields, tableName, includeJpa, useLombok, includeValidation
+                className, packageName, fields, tableName, includeJpa, useLombok, includeValidation, outputDirectory
             );
             
-            // Generate code using template
-            String generatedCode = templateEngine.processTemplate("model.java.mustache", context);
-            
             // Build file path
             String filePath = FileUtils.buildFilePath(outputDirectory, packageName, className);
             
-            // Create file
-            boolean success = FileUtils.createFile(filePath, generatedCode);
+            // Generate code using template and create file
+            boolean success = templateEngine.renderToFile("model.java.mustache", context, filePath);
+            if (success && persistence == Persistence.R2DBC) {
+                // R2DBC has no schema generation; the project runs these scripts at startup
+                String schemaPath = outputDirectory + "/src/main/resources/db/schema/" + tableName + ".sql";
+                success = templateEngine.renderToFile("model-schema.sql.mustache", context, schemaPath);
+            }
+            if (success && migration && includeJpa) {
+                success = generateMigration(context, tableName, outputDirectory);
+            }
+            if (success && dto && includeJpa) {
+                success = generateDtos(context, className, packageName, fields, useLombok, includeValidation, outputDirectory);
+            }
+            if (success && context.containsKey("summaryFields")) {
+                String summaryPath = FileUtils.buildFilePath(outputDirectory, packageName, className + "Summary");
+                success = templateEngine.renderToFile("model-summary.java.mustache", context, summaryPath);
+            }
             
             if (success) {
                 log.info("Model {} generated successfully at: {}", className, filePath);
@@ -83,7 +167,8 @@ public class ModelGenerator {
             String tableName,
             boolean includeJpa,
             boolean useLombok,
-            boolean includeValidation) {
+            boolean includeValidation,
+            String outputDirectory) {
         
         Map<String, Object> context = new HashMap<>();
 
@@ -91,13 +176,56 @@ public class ModelGenerator {
         context.put("packageName", packageName);
         context.put("tableName", tableName);
         context.put("includeJpa", includeJpa);
+        context.put("includeR2dbc", persistence == Persistence.R2DBC);
+        context.put("includeMongo", persistence == Persistence.MONGODB);
+        context.put("springDataId", persistence != Persistence.JPA);
+        // MongoDB generates ObjectId keys, exposed as their hex string
+        String idType = persistence == Persistence.MONGODB ? "String" : "Long";
+        context.put("idType", idType);
+        if (persistence == Persistence.MONGODB && !compoundIndexes.isEmpty()) {
+            context.put("compoundIndexes", compoundIndexes.stream()
+                .map(this::compoundIndexAnnotation)
+                .collect(Collectors.joining(",\n    ")));
+        }
+        List<Map<String, Object>> indexes = secondaryIndexes(tableName, fields);
+        context.put("indexes", indexes);
+        if (includeJpa && !indexes.isEmpty()) {
+            context.put("jpaIndexes", indexes.stream()
+                .map(index -> "@Index(name = \"" + index.get("name") + "\", columnList = \"" + index.get("columns") + "\")")
+                .collect(Collectors.joining(",\n    ")));
+        }
+        context.put("versioned", versioned && includeJpa);
+        context.put("mysql", mysql);
+        context.put("identityColumn", mysql ? "BIGINT AUTO_INCREMENT" : "BIGINT GENERATED BY DEFAULT AS IDENTITY");
+        context.put("sequenceId", idStrategy == IdStrategy.SEQUENCE);
+        context.put("sequenceName", tableName + "_seq");
         context.put("useLombok", useLombok);
         context.put("includeValidation", includeValidation);
         
-        List<Map<String, Object>> processedFields = fields.stream()
-            .map(this::processField)
-            .collect(Collectors.toList());
+        List<Map<String, Object>> processedFields = new ArrayList<>();
+        List<Map<String, Object>> joinTables = new ArrayList<>();
+        for (FieldInfo field : fields) {
+            Map<String, Object> fieldMap = processField(field);
+            if (field.isRelation()) {
+                putRelation(fieldMap, field, className, tableName, outputDirectory, joinTables);
+            }
+            processedFields.add(fieldMap);
+        }
         context.put("fields", processedFields);
+        context.put("joinTables", joinTables);
+
+        // List queries read only these fields; MongoDB falls back to the indexed lookup fields
+        List<FieldInfo> summary = fields.stream().filter(field -> field.isSummary() && !field.isRelation()).toList();
+        if (summary.isEmpty() && persistence == Persistence.MONGODB) {
+            summary = fields.stream().filter(field -> field.isIndexed() || field.isUnique()).toList();
+        }
+        if (!summary.isEmpty()) {
+            context.put("summaryFields", summary.stream().map(this::processField).toList());
+            Set<String> summaryImports = new TreeSet<>();
+            summary.stream().map(FieldInfo::getRequiredImport).filter(Objects::nonNull).forEach(summaryImports::add);
+            context.put("summaryImports", new ArrayList<>(summaryImports));
+            context.put("hasSummaryImports", !summaryImports.isEmpty());
+        }
 
         Set<String> imports = collectImports(fields, includeJpa, includeValidation, useLombok);
         context.put("imports", new ArrayList<>(imports));
@@ -110,12 +238,23 @@ public class ModelGenerator {
         fieldMap.put("name", field.getName());
         fieldMap.put("type", field.getType());
         fieldMap.put("capitalizedName", capitalize(field.getName()));
+        fieldMap.put("columnName", field.getColumnName());
+        fieldMap.put("sqlType", mysql ? field.getMySqlType(persistence == Persistence.R2DBC) : field.getSqlType());
+        fieldMap.put("notNull", !field.isNullable());
+        fieldMap.put("unique", field.isUnique());
+        fieldMap.put("relation", field.isRelation());
+        fieldMap.put("toMany", field.isToMany());
         
         // JPA annotations
         String jpaAnnotation = field.getJpaColumnAnnotation();
         if (jpaAnnotation != null && !jpaAnnotation.trim().isEmpty()) {
             fieldMap.put("jpaAnnotation", jpaAnnotation);
         }
+        if (field.isUnique()) {
+            fieldMap.put("mongoAnnotation", "@Indexed(unique = true)");
+        } else if (field.isIndexed()) {
+            fieldMap.put("mongoAnnotation", "@Indexed");
+        }
         
         // Validation annotations
         String validationAnnotations = field.getValidationAnnotations();
@@ -126,8 +265,64 @@ public class ModelGenerator {
         return fieldMap;
     }
 
+    /**
+     * Maps an association LAZY, leaving collections out of the JSON body (they are paged by
+     * the controller's sub-resource endpoints) and loading them in batches when accessed.
+     */
+    private void putRelation(Map<String, Object> fieldMap, FieldInfo field, String className, String tableName,
+                             String outputDirectory, List<Map<String, Object>> joinTables) {
+        String targetTable = inferTableName(field.getTarget());
+        String ownerColumn = inferColumnName(className) + "_id";
+        List<String> annotations = new ArrayList<>();
+        switch (field.getRelation()) {
+            case "ManyToOne":
+            case "OneToOne":
+                annotations.add("@" + field.getRelation() + "(fetch = FetchType.LAZY" + (field.isNullable() ? "" : ", optional = false") + ")");
+                annotations.add("@JoinColumn(name = \"" + field.getColumnName() + "\""
+                    + (field.isNullable() ? "" : ", nullable = false")
+                    + (field.getRelation().equals("OneToOne") ? ", unique = true" : "") + ")");
+                annotations.add("@JsonIgnoreProperties({\"hibernateLazyInitializer\", \"handler\"})");
+                fieldMap.put("unique", field.isUnique() || field.getRelation().equals("OneToOne"));
+                if (targetTable.equals(tableName) || hasMigration(outputDirectory, targetTable)) {
+                    fieldMap.put("references", targetTable);
+                }
+                break;
+            case "OneToMany":
+                String mappedBy = field.getMappedBy() != null ? field.getMappedBy()
+                    : Character.toLowerCase(className.charAt(0)) + className.substring(1);
+                annotations.add("@OneToMany(mappedBy = \"" + mappedBy + "\")");
+                annotations.add("@BatchSize(size = " + BATCH_FETCH_SIZE + ")");
+                annotations.add("@JsonIgnore");
+                fieldMap.put("initializer", "new ArrayList<>()");
+                break;
+            default:
+                String joinTable = tableName + "_" + field.getColumnName();
+                String inverseColumn = inferColumnName(field.getTarget()) + "_id";
+                if (inverseColumn.equals(ownerColumn)) {
+                    inverseColumn = field.getColumnName() + "_id";
+                }
+                annotations.add("@ManyToMany");
+                annotations.add("@JoinTable(name = \"" + joinTable + "\", joinColumns = @JoinColumn(name = \"" + ownerColumn
+                    + "\"), inverseJoinColumns = @JoinColumn(name = \"" + inverseColumn + "\"))");
+                annotations.add("@BatchSize(size = " + BATCH_FETCH_SIZE + ")");
+                annotations.add("@JsonIgnore");
+                fieldMap.put("initializer", "new ArrayList<>()");
+
+                Map<String, Object> joinTableMap = new HashMap<>();
+                joinTableMap.put("name", joinTable);
+                joinTableMap.put("ownerColumn", ownerColumn);
+                joinTableMap.put("inverseColumn", inverseColumn);
+                if (targetTable.equals(tableName) || hasMigration(outputDirectory, targetTable)) {
+                    joinTableMap.put("references", targetTable);
+                }
+                joinTables.add(joinTableMap);
+        }
+        fieldMap.put("relationAnnotations", annotations);
+    }
+
     private Set<String> collectImports(List<FieldInfo> fields, boolean includeJpa, boolean includeValidation, boolean useLombok) {
-        Set<String> imports = new HashSet<>();
+        // Sorted so that the rendered output (and its cache key) is deterministic
+        Set<String> imports = new TreeSet<>();
         
         // Imports for field types
         for (FieldInfo field : fields) {
@@ -140,6 +335,32 @@ public class ModelGenerator {
         // Imports JPA
         if (includeJpa) {
             imports.add("jakarta.persistence.*");
+            if (fields.stream().anyMatch(field -> field.isRelation() && !field.isToMany())) {
+                imports.add("com.fasterxml.jackson.annotation.JsonIgnoreProperties");
+            }
+            if (fields.stream().anyMatch(FieldInfo::isToMany)) {
+                imports.add("com.fasterxml.jackson.annotation.JsonIgnore");
+                imports.add("org.hibernate.annotations.BatchSize");
+            }
+        }
+        if (fields.stream().anyMatch(FieldInfo::isToMany)) {
+            imports.add("java.util.ArrayList");
+        }
+        
+        if (persistence == Persistence.R2DBC) {
+            imports.add("org.springframework.data.annotation.Id");
+            imports.add("org.springframework.data.relational.core.mapping.Table");
+        }
+        if (persistence == Persistence.MONGODB) {
+            imports.add("org.springframework.data.annotation.Id");
+            imports.add("org.springframework.data.mongodb.core.mapping.Document");
+            if (fields.stream().anyMatch(field -> field.isIndexed() || field.isUnique())) {
+                imports.add("org.springframework.data.mongodb.core.index.Indexed");
+            }
+            if (!compoundIndexes.isEmpty()) {
+                imports.add("org.springframework.data.mongodb.core.index.CompoundIndex");
+                imports.add("org.springframework.data.mongodb.core.index.CompoundIndexes");
+            }
         }
         
         // Imports de validação
@@ -152,6 +373,11 @@ public class ModelGenerator {
             imports.add("lombok.Data");
             imports.add("lombok.NoArgsConstructor");
             imports.add("lombok.AllArgsConstructor");
+            if (fields.stream().anyMatch(FieldInfo::isRelation)) {
+                // Keeps toString/equals from loading associations or recursing through bidirectional ones
+                imports.add("lombok.EqualsAndHashCode");
+                imports.add("lombok.ToString");
+            }
         } else {
             imports.add("java.util.Objects");
         }
@@ -159,6 +385,158 @@ public class ModelGenerator {
         return imports;
     }
 
+    /**
+     * Non-unique indexes of a relational table: one per indexed field or foreign key, then the composite ones.
+     * Unique fields and fields leading a composite index are left out, an index already serves them.
+     */
+    private List<Map<String, Object>> secondaryIndexes(String tableName, List<FieldInfo> fields) {
+        Map<String, String> columns = fields.stream()
+            .collect(Collectors.toMap(FieldInfo::getName, FieldInfo::getColumnName, (a, b) -> a));
+        List<List<String>> indexed = new ArrayList<>();
+        fields.stream()
+            .filter(field -> (field.isIndexed() || field.isRelation() && !field.isToMany()) && !field.isUnique())
+            .filter(field -> !"OneToOne".equals(field.getRelation()))
+            .filter(field -> compoundIndexes.stream().noneMatch(index -> index.get(0).equals(field.getName())))
+            .forEach(field -> indexed.add(List.of(field.getName())));
+        indexed.addAll(compoundIndexes);
+
+        List<Map<String, Object>> indexes = new ArrayList<>();
+        for (List<String> index : indexed) {
+            List<String> indexColumns = index.stream().map(columns::get).toList();
+            Map<String, Object> indexMap = new HashMap<>();
+            indexMap.put("name", "idx_" + tableName + "_" + String.join("_", indexColumns));
+            indexMap.put("columns", String.join(", ", indexColumns));
+            indexes.add(indexMap);
+        }
+        return indexes;
+    }
+
+    private boolean generateDtos(Map<String, Object> context, String className, String packageName, List<FieldInfo> fields,
+                                 boolean useLombok, boolean includeValidation, String outputDirectory) {
+        String dtoPackage = dtoPackage(packageName);
+        String instance = Character.toLowerCase(className.charAt(0)) + className.substring(1);
+        List<FieldInfo> values = fields.stream().filter(field -> !field.isToMany()).toList();
+
+        List<String> requestComponents = new ArrayList<>();
+        List<String> responseComponents = new ArrayList<>(List.of("Long id"));
+        List<String> responseArguments = new ArrayList<>(List.of(instance + ".getId()"));
+        if (versioned) {
+            responseComponents.add("Long version");
+            responseArguments.add(instance + ".getVersion()");
+        }
+        List<String> assignments = new ArrayList<>();
+        Set<String> dtoImports = new TreeSet<>();
+        for (FieldInfo field : values) {
+            String component = field.getDtoType() + " " + field.getDtoName();
+            String validation = field.getValidationAnnotations();
+            requestComponents.add(includeValidation && !validation.isEmpty()
+                ? validation.replace("\n    ", " ") + " " + component
+                : component);
+            responseComponents.add(component);
+            String getter = instance + "." + (useLombok && field.getType().equals("boolean") ? "is" : "get") + capitalize(field.getName()) + "()";
+            String setter = instance + ".set" + capitalize(field.getName());
+            if (field.isRelation()) {
+                responseArguments.add(getter + " != null ? " + getter + ".getId() : null");
+                assignments.add(setter + "(request." + field.getDtoName() + "() != null ? entityManager.getReference("
+                    + field.getTarget() + ".class, request." + field.getDtoName() + "()) : null);");
+            } else {
+                responseArguments.add(getter);
+                assignments.add(setter + "(request." + field.getName() + "());");
+            }
+            if (field.getRequiredImport() != null) {
+                dtoImports.add(field.getRequiredImport());
+            }
+        }
+        List<String> targets = values.stream().filter(FieldInfo::isRelation).map(FieldInfo::getTarget)
+            .filter(target -> !target.equals(className)).distinct().sorted().toList();
+
+        Map<String, Object> dtoContext = new HashMap<>(context);
+        dtoContext.put("dtoPackage", dtoPackage);
+        dtoContext.put("modelInstanceName", instance);
+        dtoContext.put("requestComponents", String.join(",\n        ", requestComponents));
+        dtoContext.put("responseComponents", String.join(",\n        ", responseComponents));
+        dtoContext.put("responseArguments", String.join(",\n            ", responseArguments));
+        dtoContext.put("assignments", assignments);
+        dtoContext.put("dtoImports", new ArrayList<>(dtoImports));
+        dtoContext.put("hasDtoImports", !dtoImports.isEmpty());
+        dtoContext.put("validationImport", includeValidation && values.stream().anyMatch(field -> !field.getValidationAnnotations().isEmpty()));
+        dtoContext.put("targets", targets);
+        dtoContext.put("references", values.stream().anyMatch(FieldInfo::isRelation));
+
+        return templateEngine.renderToFile("model-request.java.mustache", dtoContext,
+                FileUtils.buildFilePath(outputDirectory, dtoPackage, className + "Request"))
+            && templateEngine.renderToFile("model-response.java.mustache", dtoContext,
+                FileUtils.buildFilePath(outputDirectory, dtoPackage, className + "Response"))
+            && templateEngine.renderToFile("model-mapper.java.mustache", dtoContext,
+                FileUtils.buildFilePath(outputDirectory, dtoPackage, className + "Mapper"));
+    }
+
+    /**
+     * Package of the DTOs of a model package: its {@code model} or {@code entity} segment becomes {@code dto},
+     * any other package gets a {@code dto} subpackage
+     */
+    public static String dtoPackage(String modelPackage) {
+        int dot = modelPackage.lastIndexOf('.');
+        String last = modelPackage.substring(dot + 1);
+        if (dot > 0 && (last.equals("model") || last.equals("entity") || last.equals("domain"))) {
+            return modelPackage.substring(0, dot) + ".dto";
+        }
+        return modelPackage + ".dto";
+    }
+
+    private boolean generateMigration(Map<String, Object> context, String tableName, String outputDirectory) {
+        Path migrations = Path.of(outputDirectory, MIGRATION_DIRECTORY);
+        String suffix = "__create_" + tableName + ".sql";
+        try (Stream<Path> files = Files.exists(migrations) ? Files.list(migrations) : Stream.empty()) {
+            Optional<Path> existing = files.filter(file -> file.getFileName().toString().endsWith(suffix)).findFirst();
+            if (existing.isPresent()) {
+                log.info("Table {} already has migration {}, not writing another one", tableName, existing.get().getFileName());
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("Cannot list migrations in {}: {}", migrations, e.getMessage());
+        }
+        int version = migrationVersion != null ? migrationVersion : nextMigrationVersion(outputDirectory);
+        return templateEngine.renderToFile("model-migration.sql.mustache", context,
+            migrations.resolve("V" + version + suffix).toString());
+    }
+
+    private static boolean hasMigration(String outputDirectory, String tableName) {
+        Path migrations = Path.of(outputDirectory, MIGRATION_DIRECTORY);
+        String suffix = "__create_" + tableName + ".sql";
+        try (Stream<Path> files = Files.exists(migrations) ? Files.list(migrations) : Stream.empty()) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(suffix));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Next Flyway version after the {@code V<n>__*.sql} migrations of a project, starting at 1.
+     */
+    public static int nextMigrationVersion(String outputDirectory) {
+        Path migrations = Path.of(outputDirectory, MIGRATION_DIRECTORY);
+        if (!Files.isDirectory(migrations)) {
+            return 1;
+        }
+        try (Stream<Path> files = Files.list(migrations)) {
+            return files
+                .map(file -> MIGRATION_NAME.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                .max()
+                .orElse(0) + 1;
+        } catch (IOException e) {
+            log.warn("Cannot list migrations in {}: {}", migrations, e.getMessage());
+            return 1;
+        }
+    }
+
+    private String compoundIndexAnnotation(List<String> fields) {
+        String keys = fields.stream().map(field -> "'" + field + "': 1").collect(Collectors.joining(", "));
+        return "@CompoundIndex(name = \"" + String.join("_", fields) + "_idx\", def = \"{" + keys + "}\")";
+    }
+
     private String capitalize(String str) {
         if (str == null || str.isEmpty()) {
             return str;
@@ -166,6 +544,10 @@ public class ModelGenerator {
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
 
+    private String inferColumnName(String className) {
+        return className.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
     private String inferTableName(String className) {
         String snakeCase = className.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
         
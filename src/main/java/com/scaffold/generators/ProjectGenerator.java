@@ -1,13 +1,17 @@
 package com.scaffold.generators;
 
+import com.scaffold.commands.ProjectCommand.Concurrency;
 import com.scaffold.commands.ProjectCommand.DatabaseType;
 import com.scaffold.commands.ProjectCommand.PackagingType;
 import com.scaffold.templates.TemplateEngine;
 import com.scaffold.utils.FileUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +20,22 @@ public class ProjectGenerator {
 
     private final TemplateEngine templateEngine;
 
+    /** Also generate application-prod.properties with production pool, JPA and server settings. */
+    @Setter
+    private boolean productionProfile;
+
+    /** How request handling threads are provided; VIRTUAL and ASYNC add an executor config and a load test. */
+    @Setter
+    private Concurrency concurrency = Concurrency.PLATFORM;
+
+    /** Prometheus endpoint, latency histograms, @Timed support and a Grafana dashboard. */
+    @Setter
+    private boolean metrics;
+
+    /** GraalVM native build: native-maven-plugin, runtime hints and a native Dockerfile. */
+    @Setter
+    private boolean nativeImage;
+
     public ProjectGenerator() {
         this.templateEngine = new TemplateEngine();
     }
@@ -48,9 +68,23 @@ public class ProjectGenerator {
             List<String> depsList = Arrays.asList(dependencies);
             context.put("web", depsList.contains("web"));
             context.put("jpa", depsList.contains("jpa"));
+            context.put("webflux", depsList.contains("webflux"));
+            context.put("r2dbc", depsList.contains("r2dbc"));
+            // The servlet and JDBC stacks stay the default unless only their reactive counterparts were asked for
+            context.put("servlet", depsList.contains("web") || !depsList.contains("webflux"));
+            boolean mongo = database == DatabaseType.MONGODB || depsList.contains("mongodb");
+            context.put("jdbc", database != DatabaseType.MONGODB && (depsList.contains("jpa") || !depsList.contains("r2dbc")));
+            context.put("mongo", mongo);
+            context.put("mongoReactive", mongo && !(Boolean) context.get("servlet"));
             context.put("security", depsList.contains("security"));
             context.put("validation", depsList.contains("validation"));
-            context.put("actuator", depsList.contains("actuator"));
+            context.put("cache", depsList.contains("cache"));
+            // Cache hit ratios and the blocking executor are published through the actuator metrics
+            context.put("actuator", depsList.contains("actuator") || depsList.contains("cache")
+                    || concurrency == Concurrency.ASYNC || metrics);
+            context.put("metrics", metrics);
+            context.put("nativeImage", nativeImage);
+            context.put("nativeJpa", nativeImage && (Boolean) context.get("jdbc"));
             context.put("test", depsList.contains("test"));
             context.put("devtools", depsList.contains("devtools"));
             context.put("lombok", depsList.contains("lombok"));
@@ -59,11 +93,18 @@ public class ProjectGenerator {
             context.put("postgresql", depsList.contains("postgresql"));
             context.put("mongodb", depsList.contains("mongodb"));
             context.put("swagger", depsList.contains("swagger"));
+            // Flyway 10 (Spring Boot 3.3+) moved PostgreSQL support into its own module
+            context.put("flywayPostgresqlModule", isAtLeast(springBootVersion, 3, 3));
             context.put("database", database.name());
             context.put("packaging", packaging.name().toLowerCase());
             context.put("includeDocker", includeDocker);
+            putContainerContext(context, springBootVersion);
             context.put("includeGitignore", includeGitignore);
             context.put("includeReadme", includeReadme);
+            context.put("productionProfile", productionProfile);
+            context.put("virtualThreads", concurrency == Concurrency.VIRTUAL);
+            context.put("asyncExecution", concurrency == Concurrency.ASYNC);
+            context.put("exposeMetrics", depsList.contains("cache") || concurrency == Concurrency.ASYNC || metrics);
             String mainClassName = toPascalCase(projectName) + "Application";
             String artifactId = toKebabCase(projectName);
             
@@ -77,6 +118,9 @@ public class ProjectGenerator {
             log.info("- Artifact ID: {}", artifactId);
             log.info("- Main Class: {}", mainClassName);
             log.info("- Database: {}", database);
+            log.info("- Concurrency: {}", concurrency);
+            log.info("- Metrics: {}", metrics);
+            log.info("- Native image: {}", nativeImage);
             
             String projectPath = outputDirectory + "/" + artifactId;
             generateProjectStructure(projectPath, basePackage, context);
@@ -99,30 +143,82 @@ public class ProjectGenerator {
         FileUtils.createDirectories(srcMainJava);
         FileUtils.createDirectories(srcMainResources);
         FileUtils.createDirectories(srcTestJava);
-        String pomContent = templateEngine.processTemplate("project-pom.xml.mustache", context);
-        FileUtils.createFile(projectPath + "/pom.xml", pomContent);
-        String mainClassContent = templateEngine.processTemplate("project-main.java.mustache", context);
-        FileUtils.createFile(srcMainJava + "/" + context.get("mainClassName") + ".java", mainClassContent);
-        String propsContent = templateEngine.processTemplate("project-application.properties.mustache", context);
-        FileUtils.createFile(srcMainResources + "/application.properties", propsContent);
-        String testContent = templateEngine.processTemplate("project-test.java.mustache", context);
-        FileUtils.createFile(srcTestJava + "/" + context.get("mainClassName") + "Tests.java", testContent);
+        templateEngine.renderToFile("project-pom.xml.mustache", context, projectPath + "/pom.xml");
+        templateEngine.renderToFile("project-main.java.mustache", context, srcMainJava + "/" + context.get("mainClassName") + ".java");
+        templateEngine.renderToFile("project-application.properties.mustache", context, srcMainResources + "/application.properties");
+        templateEngine.renderToFile("project-test.java.mustache", context, srcTestJava + "/" + context.get("mainClassName") + "Tests.java");
+        if ((Boolean) context.get("productionProfile")) {
+            templateEngine.renderToFile("project-application-prod.properties.mustache", context, srcMainResources + "/application-prod.properties");
+        }
+        if (concurrency != Concurrency.PLATFORM) {
+            templateEngine.renderToFile("project-async-config.java.mustache", context, srcMainJava + "/config/AsyncConfig.java");
+            if ((Boolean) context.get("servlet")) {
+                templateEngine.renderToFile("project-load-test.java.mustache", context, srcTestJava + "/ConcurrencyLoadTest.java");
+            }
+        }
+        if ((Boolean) context.get("mongo")) {
+            templateEngine.renderToFile("project-mongo-index-config.java.mustache", context, srcMainJava + "/config/MongoIndexConfig.java");
+        }
+        if ((Boolean) context.get("cache")) {
+            templateEngine.renderToFile("project-cache-config.java.mustache", context, srcMainJava + "/config/CacheConfig.java");
+        }
+        if (metrics) {
+            templateEngine.renderToFile("project-metrics-config.java.mustache", context, srcMainJava + "/config/MetricsConfig.java");
+            templateEngine.renderToFile("project-grafana-dashboard.json.mustache", context, projectPath + "/monitoring/grafana-dashboard.json");
+        }
+        if (nativeImage) {
+            templateEngine.renderToFile("project-native-config.java.mustache", context, srcMainJava + "/config/NativeConfig.java");
+        }
         if ((Boolean) context.get("includeDocker")) {
-            String dockerContent = templateEngine.processTemplate("project-dockerfile.mustache", context);
-            FileUtils.createFile(projectPath + "/Dockerfile", dockerContent);
+            templateEngine.renderToFile("project-dockerfile.mustache", context, projectPath + "/Dockerfile");
+            templateEngine.renderToFile("project-dockerignore.mustache", context, projectPath + "/.dockerignore");
+            if (nativeImage) {
+                templateEngine.renderToFile("project-dockerfile-native.mustache", context, projectPath + "/Dockerfile.native");
+            }
         }
         
         if ((Boolean) context.get("includeGitignore")) {
-            String gitignoreContent = templateEngine.processTemplate("project-gitignore.mustache", context);
-            FileUtils.createFile(projectPath + "/.gitignore", gitignoreContent);
+            templateEngine.renderToFile("project-gitignore.mustache", context, projectPath + "/.gitignore");
         }
         
         if ((Boolean) context.get("includeReadme")) {
-            String readmeContent = templateEngine.processTemplate("project-readme.md.mustache", context);
-            FileUtils.createFile(projectPath + "/README.md", readmeContent);
+            templateEngine.renderToFile("project-readme.md.mustache", context, projectPath + "/README.md");
         }
     }
     
+    /**
+     * Dockerfile settings for the Spring Boot version. From 3.3 on, {@code -Djarmode=tools} extracts a plain
+     * classpath that a CDS training run can archive; older versions keep the layertools layout and its launcher.
+     */
+    private void putContainerContext(Map<String, Object> context, String springBootVersion) {
+        boolean cds = isAtLeast(springBootVersion, 3, 3);
+        context.put("cds", cds);
+        context.put("launcherClass", isAtLeast(springBootVersion, 3, 2)
+                ? "org.springframework.boot.loader.launch.JarLauncher"
+                : "org.springframework.boot.loader.JarLauncher");
+        List<String> trainingProperties = new ArrayList<>();
+        if ((Boolean) context.get("jdbc")) {
+            trainingProperties.add("-Dspring.flyway.enabled=false");
+            trainingProperties.add("-Dspring.jpa.hibernate.ddl-auto=none");
+            trainingProperties.add("-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false");
+        }
+        if ((Boolean) context.get("r2dbc")) {
+            trainingProperties.add("-Dspring.sql.init.mode=never");
+        }
+        context.put("trainingProperties", trainingProperties);
+    }
+
+    public static boolean isAtLeast(String version, int major, int minor) {
+        String[] parts = version.trim().split("[.-]");
+        try {
+            int actualMajor = Integer.parseInt(parts[0]);
+            int actualMinor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return actualMajor > major || actualMajor == major && actualMinor >= minor;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     private Map<String, Object> getDatabaseConfig(DatabaseType database) {
         Map<String, Object> config = new HashMap<>();
         
@@ -133,26 +229,80 @@ public class ProjectGenerator {
                 config.put("databaseUsername", "sa");
                 config.put("databasePassword", "");
                 config.put("hibernateDialect", "org.hibernate.dialect.H2Dialect");
+                config.put("h2Database", true);
+                // Kept open between connections so that the schema outlives the first pooled connection
+                config.put("r2dbcUrl", "r2dbc:h2:mem:///testdb?options=DB_CLOSE_DELAY=-1");
                 break;
             case MYSQL:
                 config.put("databaseDriver", "com.mysql.cj.jdbc.Driver");
-                config.put("databaseUrl", "jdbc:mysql://localhost:3306/database");
+                config.put("databaseUrl", "jdbc:mysql://localhost:3306/database?rewriteBatchedStatements=true");
                 config.put("databaseUsername", "root");
                 config.put("databasePassword", "password");
                 config.put("hibernateDialect", "org.hibernate.dialect.MySQL8Dialect");
+                config.put("mysqlDatabase", true);
+                config.put("r2dbcUrl", "r2dbc:mysql://localhost:3306/database");
+                // Client-side statement cache and fewer round trips per statement; useCursorFetch makes the driver
+                // honour fetch sizes, which export streams rely on, instead of reading whole result sets into memory
+                putDriverProperties(config, Map.of(
+                        "useCursorFetch", "true",
+                        "cachePrepStmts", "true",
+                        "prepStmtCacheSize", "250",
+                        "prepStmtCacheSqlLimit", "2048",
+                        "useServerPrepStmts", "true",
+                        "cacheResultSetMetadata", "true",
+                        "cacheServerConfiguration", "true",
+                        "elideSetAutoCommits", "true",
+                        "maintainTimeStats", "false"));
                 break;
             case POSTGRESQL:
                 config.put("databaseDriver", "org.postgresql.Driver");
-                config.put("databaseUrl", "jdbc:postgresql://localhost:5432/database");
+                config.put("databaseUrl", "jdbc:postgresql://localhost:5432/database?reWriteBatchedInserts=true");
                 config.put("databaseUsername", "postgres");
                 config.put("databasePassword", "password");
                 config.put("hibernateDialect", "org.hibernate.dialect.PostgreSQLDialect");
+                config.put("postgresqlDatabase", true);
+                config.put("r2dbcUrl", "r2dbc:postgresql://localhost:5432/database");
+                // Server-side prepared statements after the first execution, cached per connection
+                putDriverProperties(config, Map.of(
+                        "prepareThreshold", "1",
+                        "preparedStatementCacheQueries", "256",
+                        "preparedStatementCacheSizeMiB", "5",
+                        "tcpKeepAlive", "true"));
+                break;
+            case SQLSERVER:
+                config.put("databaseDriver", "com.microsoft.sqlserver.jdbc.SQLServerDriver");
+                config.put("databaseUrl", "jdbc:sqlserver://localhost:1433;databaseName=database;encrypt=false");
+                config.put("databaseUsername", "sa");
+                config.put("databasePassword", "password");
+                config.put("hibernateDialect", "org.hibernate.dialect.SQLServerDialect");
+                config.put("sqlserverDatabase", true);
+                // VARCHAR columns are not compared as NVARCHAR parameters, which would bypass their indexes
+                putDriverProperties(config, Map.of(
+                        "sendStringParametersAsUnicode", "false"));
+                break;
+            case MONGODB:
+                config.put("mongoUri", "mongodb://localhost:27017/database");
                 break;
         }
+        config.putIfAbsent("driverTuning", false);
         
         return config;
     }
     
+    private void putDriverProperties(Map<String, Object> config, Map<String, String> properties) {
+        List<Map<String, String>> driverProperties = properties.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    Map<String, String> property = new LinkedHashMap<>();
+                    property.put("name", entry.getKey());
+                    property.put("value", entry.getValue());
+                    return property;
+                })
+                .toList();
+        config.put("driverTuning", true);
+        config.put("driverProperties", driverProperties);
+    }
+    
     private String toPascalCase(String input) {
         StringBuilder result = new StringBuilder();
         boolean capitalizeNext = true;
@@ -1,11 +1,15 @@
 package com.scaffold.generators;
 
 import com.scaffold.commands.RepositoryCommand.RepositoryType;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
 import com.scaffold.templates.TemplateEngine;
-import com.scaffold.utils.FileUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -13,8 +17,63 @@ public class RepositoryGenerator {
 
     private final TemplateEngine templateEngine;
 
+    /**
+     * Name of the entity ID property, used by the keyset query methods
+     */
+    @Setter
+    private String idName = "id";
+
+    /**
+     * Name of the entity's {@code @Version} property, or null when it has none
+     */
+    @Setter
+    private String versionName;
+
+    /**
+     * Adds a query reading only the version of an entity, which answers conditional requests
+     */
+    @Setter
+    private boolean httpCaching;
+
+    /**
+     * Unique entity fields, which get a lookup method on MongoDB repositories
+     */
+    @Setter
+    private List<FieldInfo> uniqueFields = List.of();
+
+    /**
+     * Whether the model has a {@code <Model>Summary} projection for list queries
+     */
+    @Setter
+    private boolean summaryProjection;
+
+    /**
+     * Association fields of a JPA entity: to-one ones are fetched by entity graphs, collections are paged
+     */
+    @Setter
+    private List<FieldInfo> relations = List.of();
+
+    /**
+     * Read methods selecting into the model's {@code <Model>Response} record, built from these entity fields
+     */
+    @Setter
+    private boolean dto;
+
+    @Setter
+    private List<FieldInfo> fields = List.of();
+
+    /**
+     * Cursor-backed {@code Stream} query with fetch size and read-only hints, for exports
+     */
+    @Setter
+    private boolean export;
+
     public RepositoryGenerator() {
-        this.templateEngine = new TemplateEngine();
+        this(new TemplateEngine());
+    }
+
+    public RepositoryGenerator(TemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
     }
 
     public boolean generate(
@@ -25,7 +84,7 @@ public class RepositoryGenerator {
             RepositoryType repositoryType,
             String idType,
             boolean includeCustomQueries,
-            boolean includePagination,
+            Pagination pagination,
             String outputDirectory) {
         
         try {
@@ -37,8 +96,26 @@ public class RepositoryGenerator {
             context.put("modelPackage", modelPackage);
             context.put("repositoryType", repositoryType.name());
             context.put("idType", idType);
+            context.put("idTypeImport", new FieldInfo("id", idType).getRequiredImport());
             context.put("includeCustomQueries", includeCustomQueries);
-            context.put("includePagination", includePagination);
+            context.put("includePagination", pagination == Pagination.OFFSET);
+            context.put("includeKeyset", pagination == Pagination.KEYSET);
+            context.put("idName", idName);
+            context.put("versionQuery", httpCaching && versionName != null && repositoryType == RepositoryType.JPA);
+            context.put("versionName", versionName);
+            context.put("export", export && repositoryType == RepositoryType.JPA);
+            context.put("idCapitalizedName", Character.toUpperCase(idName.charAt(0)) + idName.substring(1));
+            context.put("summaryProjection", summaryProjection);
+            context.put("hasUniqueFields", !uniqueFields.isEmpty());
+            context.put("uniqueFields", uniqueFields.stream()
+                    .map(field -> Map.of(
+                            "name", field.getName(),
+                            "type", field.getType(),
+                            "capitalizedName", Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1)))
+                    .toList());
+            
+            putRelationContext(context, modelName, repositoryType == RepositoryType.JPA ? relations : List.of());
+            putDtoContext(context, modelName, modelPackage, dto && repositoryType == RepositoryType.JPA);
             
             // Check if this is a User repository for JWT authentication methods
             // Only include JWT methods when explicitly requested
@@ -49,23 +126,29 @@ public class RepositoryGenerator {
             String modelInstanceName = Character.toLowerCase(modelName.charAt(0)) + modelName.substring(1);
             context.put("modelInstanceName", modelInstanceName);
             String baseType;
+            String baseTypePackage;
             switch (repositoryType) {
-                case JPA:
-                    baseType = "JpaRepository";
-                    break;
                 case MONGODB:
                     baseType = "MongoRepository";
+                    baseTypePackage = "org.springframework.data.mongodb.repository";
                     break;
                 case REACTIVE_MONGO:
                     baseType = "ReactiveMongoRepository";
+                    baseTypePackage = "org.springframework.data.mongodb.repository";
                     break;
                 case REACTIVE_R2DBC:
-                    baseType = "ReactiveCrudRepository";
+                    baseType = "R2dbcRepository";
+                    baseTypePackage = "org.springframework.data.r2dbc.repository";
                     break;
+                case JPA:
                 default:
                     baseType = "JpaRepository";
+                    baseTypePackage = "org.springframework.data.jpa.repository";
             }
             context.put("baseType", baseType);
+            context.put("baseTypeImport", baseTypePackage + "." + baseType);
+            boolean reactive = repositoryType == RepositoryType.REACTIVE_MONGO
+                    || repositoryType == RepositoryType.REACTIVE_R2DBC;
             
             log.info("Configuration:");
             log.info("- Repository: {}", repositoryName);
@@ -73,12 +156,14 @@ public class RepositoryGenerator {
             log.info("- Model: {}", modelName);
             log.info("- Base Type: {}", baseType);
             log.info("- ID Type: {}", idType);
-            String code = templateEngine.processTemplate("repository.java.mustache", context);
+            log.info("- Pagination: {}", pagination);
             String packagePath = packageName.replace(".", "/");
             String fullPath = outputDirectory + "/src/main/java/" + packagePath;
-            FileUtils.createDirectories(fullPath);
             String fileName = fullPath + "/" + repositoryName + ".java";
-            FileUtils.createFile(fileName, code);
+            String template = reactive ? "repository-reactive.java.mustache"
+                    : repositoryType == RepositoryType.MONGODB ? "repository-mongo.java.mustache"
+                    : "repository.java.mustache";
+            templateEngine.renderToFile(template, context, fileName);
             
             log.info("Repository {} generated successfully at {}", repositoryName, fileName);
             return true;
@@ -88,4 +173,66 @@ public class RepositoryGenerator {
             return false;
         }
     }
+
+    private void putRelationContext(Map<String, Object> context, String modelName, List<FieldInfo> relations) {
+        List<String> fetchPaths = relations.stream()
+                .filter(field -> !field.isToMany())
+                .map(field -> "\"" + field.getName() + "\"")
+                .toList();
+        context.put("hasFetchGraph", !fetchPaths.isEmpty());
+        context.put("fetchGraph", "{" + String.join(", ", fetchPaths) + "}");
+
+        List<Map<String, Object>> collections = relations.stream()
+                .filter(FieldInfo::isToMany)
+                .map(field -> Map.<String, Object>of(
+                        "capitalizedName", Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1),
+                        "target", field.getTarget(),
+                        "query", collectionQuery(modelName, field)))
+                .toList();
+        context.put("hasCollections", !collections.isEmpty());
+        context.put("collections", collections);
+        context.put("pageImports", Boolean.TRUE.equals(context.get("includePagination"))
+                || !fetchPaths.isEmpty() || !collections.isEmpty() || dto
+                || Boolean.TRUE.equals(context.get("summaryProjection")));
+        context.put("queryImports", Boolean.TRUE.equals(context.get("includeCustomQueries")) || !collections.isEmpty() || dto
+                || Boolean.TRUE.equals(context.get("versionQuery")) || Boolean.TRUE.equals(context.get("export")));
+        context.put("relationImports", relations.stream()
+                .filter(FieldInfo::isToMany)
+                .map(FieldInfo::getTarget)
+                .filter(target -> !target.equals(modelName))
+                .distinct()
+                .sorted()
+                .toList());
+    }
+
+    private void putDtoContext(Map<String, Object> context, String modelName, String modelPackage, boolean dto) {
+        context.put("dto", dto);
+        if (!dto) {
+            return;
+        }
+        String dtoPackage = ModelGenerator.dtoPackage(modelPackage);
+        List<String> arguments = new ArrayList<>(List.of("m." + idName));
+        if (versionName != null) {
+            arguments.add("m." + versionName);
+        }
+        fields.stream()
+                .filter(field -> !field.isToMany())
+                .forEach(field -> arguments.add("m." + field.getDtoPath()));
+        context.put("dtoPackage", dtoPackage);
+        context.put("responseExpression", "new " + dtoPackage + "." + modelName + "Response(" + String.join(", ", arguments) + ")");
+    }
+
+    /**
+     * Selects the collection from the target side so that the page's sort applies to its elements;
+     * a OneToMany is filtered on its foreign key, a ManyToMany through the owner's join table
+     */
+    private String collectionQuery(String modelName, FieldInfo field) {
+        String mappedBy = field.getMappedBy() != null ? field.getMappedBy()
+                : Character.toLowerCase(modelName.charAt(0)) + modelName.substring(1);
+        if (field.getRelation().equals("OneToMany")) {
+            return "SELECT c FROM " + field.getTarget() + " c WHERE c." + mappedBy + "." + idName + " = :id";
+        }
+        return "SELECT c FROM " + field.getTarget() + " c WHERE c IN (SELECT e FROM " + modelName
+                + " m JOIN m." + field.getName() + " e WHERE m." + idName + " = :id)";
+    }
 }
@@ -1,6 +1,7 @@
 package com.scaffold.generators;
 
 import com.scaffold.models.SecurityConfig;
+import com.scaffold.source.JavaSourcePatch;
 import com.scaffold.templates.TemplateEngine;
 import com.scaffold.utils.FileUtils;
 import lombok.Setter;
@@ -12,10 +13,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Setter
 public class SecurityGenerator {
+
+    private static final String JJWT_VERSION = "0.12.6";
+
+    /**
+     * The single-jar jjwt 0.9 artifact, which clashes with the split 0.12 artifacts
+     */
+    private static final Pattern LEGACY_JJWT = Pattern.compile(
+        "\\s*(<!--[^>]*-->\\s*)?<dependency>\\s*<groupId>io\\.jsonwebtoken</groupId>\\s*<artifactId>jjwt</artifactId>.*?</dependency>",
+        Pattern.DOTALL);
     
     private final TemplateEngine templateEngine;
     
@@ -28,8 +39,19 @@ public class SecurityGenerator {
     private boolean enableCors;
     private String outputDirectory;
 
+    /**
+     * Authenticate requests from token claims with a reusable parser, instead of loading the user per request
+     */
+    private boolean stateless;
+
+    /**
+     * Keep validated tokens in a short-lived bounded cache (stateless only)
+     */
+    private boolean tokenCache;
+
     public SecurityGenerator() {
-        this.templateEngine = new TemplateEngine();
+        // The render context carries the JWT secret, which must not end up in the shared render cache
+        this.templateEngine = new TemplateEngine().withoutRenderCache();
     }
 
     public void generate() throws IOException {
@@ -44,6 +66,8 @@ public class SecurityGenerator {
                 .userPackage(userPackage)
                 .userRepositoryPackage(userRepositoryPackage)
                 .enableCors(enableCors)
+                .stateless(stateless)
+                .tokenCache(stateless && tokenCache)
                 .build();
 
         // Create package directory
@@ -80,52 +104,56 @@ public class SecurityGenerator {
             return;
         }
 
-        String pomContent = Files.readString(pomFile);
-        
-        // Check if dependencies already exist
-        if (pomContent.contains("spring-boot-starter-security") && pomContent.contains("jjwt")) {
+        String originalContent = Files.readString(pomFile);
+        String pomContent = stateless ? LEGACY_JJWT.matcher(originalContent).replaceAll("") : originalContent;
+
+        StringBuilder dependencies = new StringBuilder();
+        if (!pomContent.contains("spring-boot-starter-security")) {
+            appendDependency(dependencies, "Spring Security", "org.springframework.boot", "spring-boot-starter-security", null, null);
+        }
+        if (stateless) {
+            if (!pomContent.contains("jjwt-api")) {
+                appendDependency(dependencies, "JWT", "io.jsonwebtoken", "jjwt-api", JJWT_VERSION, null);
+                appendDependency(dependencies, null, "io.jsonwebtoken", "jjwt-impl", JJWT_VERSION, "runtime");
+                appendDependency(dependencies, null, "io.jsonwebtoken", "jjwt-jackson", JJWT_VERSION, "runtime");
+            }
+            if (tokenCache && !pomContent.contains("<artifactId>caffeine</artifactId>")) {
+                appendDependency(dependencies, "Validated token cache", "com.github.ben-manes.caffeine", "caffeine", null, null);
+            }
+        } else if (!pomContent.contains("jjwt")) {
+            appendDependency(dependencies, "JWT", "io.jsonwebtoken", "jjwt", "0.9.1", null);
+        }
+
+        if (dependencies.isEmpty() && pomContent.equals(originalContent)) {
             log.info("Security dependencies already exist in pom.xml");
             return;
         }
 
-        // Find the dependencies section
-        String dependenciesStart = "<dependencies>";
-        String dependenciesEnd = "</dependencies>";
-        
-        int startIndex = pomContent.indexOf(dependenciesStart);
-        int endIndex = pomContent.indexOf(dependenciesEnd);
-        
-        if (startIndex == -1 || endIndex == -1) {
+        int endIndex = pomContent.indexOf("</dependencies>");
+        if (pomContent.indexOf("<dependencies>") == -1 || endIndex == -1) {
             log.warn("Could not find dependencies section in pom.xml");
             return;
         }
 
-        StringBuilder newPomContent = new StringBuilder();
-        newPomContent.append(pomContent.substring(0, endIndex));
-        
-        // Add Spring Security dependency if not present
-        if (!pomContent.contains("spring-boot-starter-security")) {
-            newPomContent.append("\n\t\t<!-- Spring Security -->\n");
-            newPomContent.append("\t\t<dependency>\n");
-            newPomContent.append("\t\t\t<groupId>org.springframework.boot</groupId>\n");
-            newPomContent.append("\t\t\t<artifactId>spring-boot-starter-security</artifactId>\n");
-            newPomContent.append("\t\t</dependency>\n");
+        Files.writeString(pomFile, pomContent.substring(0, endIndex) + dependencies + pomContent.substring(endIndex));
+        log.info("Security dependencies added to pom.xml");
+    }
+
+    private static void appendDependency(StringBuilder builder, String comment, String groupId, String artifactId,
+                                         String version, String scope) {
+        if (comment != null) {
+            builder.append("\n\t\t<!-- ").append(comment).append(" -->\n");
         }
-        
-        // Add JWT dependency if not present
-        if (!pomContent.contains("jjwt")) {
-            newPomContent.append("\n\t\t<!-- JWT -->\n");
-            newPomContent.append("\t\t<dependency>\n");
-            newPomContent.append("\t\t\t<groupId>io.jsonwebtoken</groupId>\n");
-            newPomContent.append("\t\t\t<artifactId>jjwt</artifactId>\n");
-            newPomContent.append("\t\t\t<version>0.9.1</version>\n");
-            newPomContent.append("\t\t</dependency>\n");
+        builder.append("\t\t<dependency>\n");
+        builder.append("\t\t\t<groupId>").append(groupId).append("</groupId>\n");
+        builder.append("\t\t\t<artifactId>").append(artifactId).append("</artifactId>\n");
+        if (version != null) {
+            builder.append("\t\t\t<version>").append(version).append("</version>\n");
         }
-        
-        newPomContent.append(pomContent.substring(endIndex));
-        
-        Files.writeString(pomFile, newPomContent.toString());
-        log.info("Security dependencies added to pom.xml");
+        if (scope != null) {
+            builder.append("\t\t\t<scope>").append(scope).append("</scope>\n");
+        }
+        builder.append("\t\t</dependency>\n");
     }
 
     private void updateUserRepository(SecurityConfig config) throws IOException {
@@ -140,38 +168,19 @@ public class SecurityGenerator {
             return;
         }
         
+        JavaSourcePatch patch = new JavaSourcePatch()
+                .addImport("java.util.Optional")
+                .addMethod("findByUsername", "// JWT Authentication methods\n" +
+                        "Optional<" + userEntity + "> findByUsername(String username);")
+                .addMethod("existsByUsername", "Boolean existsByUsername(String username);");
+
         try {
-            String content = Files.readString(repositoryFile);
-            
-            // Check if JWT methods already exist
-            if (content.contains("findByUsername") && content.contains("existsByUsername")) {
-                log.info("JWT methods already exist in User repository");
-                return;
-            }
-            
-            // Add Optional import if not present
-            if (!content.contains("import java.util.Optional;")) {
-                String importLine = "import java.util.Optional;\n";
-                int packageIndex = content.indexOf("import ");
-                if (packageIndex > 0) {
-                    content = content.substring(0, packageIndex) + importLine + content.substring(packageIndex);
-                }
-            }
-            
-            // Add JWT methods before the closing brace
-            String jwtMethods = "\n    // JWT Authentication methods\n" +
-                              "    Optional<" + userEntity + "> findByUsername(String username);\n" +
-                              "    Boolean existsByUsername(String username);\n";
-            
-            // Find the last closing brace and add methods before it
-            int lastBrace = content.lastIndexOf("}");
-            if (lastBrace > 0) {
-                String updatedContent = content.substring(0, lastBrace) + jwtMethods + "}";
-                Files.writeString(repositoryFile, updatedContent);
+            if (patch.applyTo(repositoryFile)) {
                 log.info("Updated User repository with JWT methods");
+            } else {
+                log.info("JWT methods already exist in User repository");
             }
-            
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             log.error("Failed to update User repository: {}", e.getMessage());
         }
     }
@@ -180,9 +189,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("security-config.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "SecurityConfig");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("security-config.java.mustache", templateData, filePath);
         log.info("Generated SecurityConfig.java");
     }
 
@@ -190,9 +198,9 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("jwt-utils.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "JwtUtils");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile(stateless ? "jwt-utils-stateless.java.mustache" : "jwt-utils.java.mustache",
+                templateData, filePath);
         log.info("Generated JwtUtils.java");
     }
 
@@ -200,9 +208,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("jwt-authentication-entry-point.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "JwtAuthenticationEntryPoint");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("jwt-authentication-entry-point.java.mustache", templateData, filePath);
         log.info("Generated JwtAuthenticationEntryPoint.java");
     }
 
@@ -210,9 +217,9 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("jwt-authentication-filter.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "JwtAuthenticationFilter");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile(stateless ? "jwt-authentication-filter-stateless.java.mustache"
+                : "jwt-authentication-filter.java.mustache", templateData, filePath);
         log.info("Generated JwtAuthenticationFilter.java");
     }
 
@@ -220,9 +227,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("user-details-service-impl.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "UserDetailsServiceImpl");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("user-details-service-impl.java.mustache", templateData, filePath);
         log.info("Generated UserDetailsServiceImpl.java");
     }
 
@@ -230,9 +236,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("user-principal.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "UserPrincipal");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("user-principal.java.mustache", templateData, filePath);
         log.info("Generated UserPrincipal.java");
     }
 
@@ -252,9 +257,8 @@ public class SecurityGenerator {
                 .build();
         templateData.put("config", controllerConfig);
 
-        String content = templateEngine.processTemplate("auth-controller.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(controllerDir.toString(), "", "AuthController");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("auth-controller.java.mustache", templateData, filePath);
         log.info("Generated AuthController.java");
     }
 
@@ -262,9 +266,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("jwt-request.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "JwtRequest");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("jwt-request.java.mustache", templateData, filePath);
         log.info("Generated JwtRequest.java");
     }
 
@@ -272,9 +275,8 @@ public class SecurityGenerator {
         Map<String, Object> templateData = new HashMap<>();
         templateData.put("config", config);
 
-        String content = templateEngine.processTemplate("jwt-response.java.mustache", templateData);
         String filePath = FileUtils.buildFilePath(outputDir.toString(), "", "JwtResponse");
-        FileUtils.createFile(filePath, content);
+        templateEngine.renderToFile("jwt-response.java.mustache", templateData, filePath);
         log.info("Generated JwtResponse.java");
     }
 }
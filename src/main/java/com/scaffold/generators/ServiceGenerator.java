@@ -1,10 +1,14 @@
 package com.scaffold.generators;
 
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.models.Pagination;
 import com.scaffold.templates.TemplateEngine;
-import com.scaffold.utils.FileUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,10 +17,87 @@ import java.util.Map;
 @Slf4j
 public class ServiceGenerator {
 
+    /**
+     * Bean name of the executor generated by {@code project --concurrency ASYNC}
+     */
+    public static final String ASYNC_EXECUTOR = "blockingExecutor";
+
+    /**
+     * Timer of the service methods, charted by the dashboard of {@code project --metrics}
+     */
+    public static final String METRIC_NAME = "service.invocations";
+
     private final TemplateEngine templateEngine;
 
+    @Setter
+    private Pagination pagination = Pagination.OFFSET;
+
+    /**
+     * Cache reads by ID in a cache named after the entity, updated on save and evicted on delete
+     */
+    @Setter
+    private boolean includeCache;
+
+    /**
+     * Chunked saveAll/updateAll/deleteAllById for bulk endpoints
+     */
+    @Setter
+    private boolean includeBulk;
+
+    /**
+     * CompletableFuture variants of the CRUD methods running on the project's bounded executor
+     */
+    @Setter
+    private boolean includeAsync;
+
+    /**
+     * Flux/Mono methods over a reactive repository instead of blocking List/Optional ones
+     */
+    @Setter
+    private boolean reactive;
+
+    /**
+     * List reads return the model's {@code <Model>Summary} projection instead of whole entities
+     */
+    @Setter
+    private boolean summaryProjection;
+
+    /**
+     * Collection associations of the entity, each read a page at a time through the repository
+     */
+    @Setter
+    private List<FieldInfo> collections = List.of();
+
+    /**
+     * Reads return the model's {@code <Model>Response} record and create/update take its {@code <Model>Request}
+     */
+    @Setter
+    private boolean dto;
+
+    /**
+     * Version lookup by ID, from which the controller answers conditional requests
+     */
+    @Setter
+    private boolean httpCaching;
+
+    /**
+     * Times every method in a {@code service.invocations} histogram, recorded by the project's TimedAspect
+     */
+    @Setter
+    private boolean metrics;
+
+    /**
+     * exportAll streaming every row through the repository's cursor-backed export query
+     */
+    @Setter
+    private boolean export;
+
     public ServiceGenerator() {
-        this.templateEngine = new TemplateEngine();
+        this(new TemplateEngine());
+    }
+
+    public ServiceGenerator(TemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
     }
 
     public boolean generate(
@@ -29,6 +110,7 @@ public class ServiceGenerator {
             boolean includeCrud,
             boolean includeTransactional,
             boolean includeValidation,
+            EntityInfo entity,
             String outputDirectory) {
         
         try {
@@ -44,6 +126,33 @@ public class ServiceGenerator {
             context.put("includeCrud", includeCrud);
             context.put("includeTransactional", includeTransactional);
             context.put("includeValidation", includeValidation);
+            context.put("includePagination", pagination == Pagination.OFFSET);
+            context.put("includeKeyset", pagination == Pagination.KEYSET);
+            context.put("includeCache", includeCache);
+            context.put("includeBulk", includeBulk);
+            context.put("includeAsync", includeAsync);
+            context.put("asyncExecutor", ASYNC_EXECUTOR);
+            context.put("reactive", reactive);
+            context.put("summaryProjection", summaryProjection);
+            context.put("dto", dto);
+            context.put("httpCaching", httpCaching);
+            context.put("versionCheck", httpCaching && dto);
+            context.put("metrics", metrics);
+            context.put("metricName", METRIC_NAME);
+            context.put("dtoPackage", ModelGenerator.dtoPackage(modelPackage));
+            context.put("readType", dto ? modelName + "Response" : modelName);
+            context.put("findByIdQuery", dto ? "findResponseById" : "findById");
+            context.put("listType", summaryProjection ? modelName + "Summary" : dto ? modelName + "Response" : modelName);
+            context.put("listQuery", summaryProjection ? "findAllProjectedBy" : dto ? "findAllResponses" : "findAll");
+            putEntityContext(context, entity);
+            boolean mongo = Boolean.TRUE.equals(context.get("mongo"));
+            context.put("export", export && !mongo);
+            context.put("exportEntities", export && !mongo && !dto);
+            context.put("exportType", dto ? modelName + "Response" : modelName);
+            context.put("exportQuery", dto ? "streamResponsesForExport" : "streamAllForExport");
+            context.put("entityManager", !mongo && (includeBulk || export && !dto));
+            context.put("transactionalImport", includeTransactional || dto || !mongo && (includeBulk || export));
+            putCollectionContext(context, modelName);
             
             
             String repositoryName = modelName + "Repository";
@@ -55,7 +164,9 @@ public class ServiceGenerator {
             context.put("repositoryName", repositoryName);
             context.put("repositoryInstanceName", repositoryInstanceName);
             context.put("modelInstanceName", modelInstanceName);
+            context.put("mapperInstanceName", modelInstanceName + "Mapper");
             context.put("interfaceName", interfaceName);
+            context.put("cacheName", cacheName(modelName));
             context.put("implementationName", implementationName);
             
             log.info("Configuration:");
@@ -64,30 +175,31 @@ public class ServiceGenerator {
             log.info("- Model: {}", modelName);
             log.info("- Repository: {}", repositoryName);
             log.info("- Generate Interface: {}", generateInterface);
+            log.info("- Pagination: {}", pagination);
+            log.info("- Cache: {}", includeCache ? cacheName(modelName) : "none");
             
             String packagePath = packageName.replace(".", "/");
             String fullPath = outputDirectory + "/src/main/java/" + packagePath;
-            FileUtils.createDirectories(fullPath);
             
             boolean success = true;
             
             
             if (generateInterface) {
-                String interfaceCode = templateEngine.processTemplate("service-interface.java.mustache", context);
                 String interfaceFileName = fullPath + "/" + interfaceName + ".java";
-                FileUtils.createFile(interfaceFileName, interfaceCode);
+                templateEngine.renderToFile(reactive ? "service-reactive-interface.java.mustache" : "service-interface.java.mustache",
+                        context, interfaceFileName);
                 log.info("Interface {} generated at {}", interfaceName, interfaceFileName);
                 
                 
-                String implCode = templateEngine.processTemplate("service-impl.java.mustache", context);
                 String implFileName = fullPath + "/" + implementationName + ".java";
-                FileUtils.createFile(implFileName, implCode);
+                templateEngine.renderToFile(reactive ? "service-reactive.java.mustache" : "service-impl.java.mustache",
+                        context, implFileName);
                 log.info("Implementation {} generated at {}", implementationName, implFileName);
             } else {
                 
-                String serviceCode = templateEngine.processTemplate("service.java.mustache", context);
                 String serviceFileName = fullPath + "/" + serviceName + ".java";
-                FileUtils.createFile(serviceFileName, serviceCode);
+                templateEngine.renderToFile(reactive ? "service-reactive.java.mustache" : "service.java.mustache",
+                        context, serviceFileName);
                 log.info("Service {} generated at {}", serviceName, serviceFileName);
             }
             
@@ -99,4 +211,38 @@ public class ServiceGenerator {
             return false;
         }
     }
+
+    /**
+     * Cache holding the entities of a service, e.g. {@code products} for {@code Product}
+     */
+    public static String cacheName(String modelName) {
+        return Character.toLowerCase(modelName.charAt(0)) + modelName.substring(1) + "s";
+    }
+
+    private void putCollectionContext(Map<String, Object> context, String modelName) {
+        context.put("hasCollections", !collections.isEmpty());
+        context.put("collections", collections.stream()
+                .map(field -> Map.of(
+                        "name", field.getName(),
+                        "capitalizedName", Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1),
+                        "target", field.getTarget()))
+                .toList());
+        context.put("pageImports", pagination == Pagination.OFFSET || !collections.isEmpty());
+        context.put("relationImports", collections.stream()
+                .map(FieldInfo::getTarget)
+                .filter(target -> !target.equals(modelName))
+                .distinct()
+                .sorted()
+                .toList());
+    }
+
+    private void putEntityContext(Map<String, Object> context, EntityInfo entity) {
+        String idType = entity != null ? entity.getIdType() : "Long";
+        String idName = entity != null ? entity.getIdName() : "id";
+        context.put("idType", idType);
+        context.put("idName", idName);
+        context.put("idTypeImport", new FieldInfo(idName, idType).getRequiredImport());
+        context.put("idCapitalizedName", Character.toUpperCase(idName.charAt(0)) + idName.substring(1));
+        context.put("mongo", entity != null && entity.isDocument());
+    }
 }
@@ -0,0 +1,39 @@
+package com.scaffold.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metadata of an existing entity class, as found by the project scanner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityInfo {
+
+    private String className;
+
+    private String packageName;
+
+    private String tableName;
+
+    /** Mapped as a MongoDB {@code @Document} rather than a JPA entity */
+    private boolean document;
+
+    private String idName = "id";
+
+    private String idType = "Long";
+
+    /** Property annotated with {@code @Version}, or null when the entity has none */
+    private String versionName;
+
+    private List<FieldInfo> fields = new ArrayList<>();
+
+    public String getQualifiedName() {
+        return packageName == null || packageName.isEmpty() ? className : packageName + "." + className;
+    }
+}
@@ -4,10 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FieldInfo {
+
+    /** Association kinds accepted in place of a field type */
+    public static final List<String> RELATIONS = List.of("ManyToOne", "OneToOne", "OneToMany", "ManyToMany");
     
     private String name;
     
@@ -29,6 +34,21 @@ public class FieldInfo {
     
     private boolean nullable = true;
 
+    /** Backed by a secondary index; unique fields are indexed anyway */
+    private boolean indexed = false;
+
+    /** Part of the summary projection returned by list endpoints */
+    private boolean summary = false;
+
+    /** JPA association kind (ManyToOne, OneToOne, OneToMany, ManyToMany), null for a plain column */
+    private String relation;
+
+    /** Entity class at the other end of the association */
+    private String target;
+
+    /** Owning field on the target side of a OneToMany */
+    private String mappedBy;
+
     public FieldInfo(String name, String type) {
         this.name = name;
         this.type = type;
@@ -40,6 +60,89 @@ public class FieldInfo {
         this.required = required;
     }
 
+    /**
+     * Parses a field specification in {@code name:type[:modifier...]} form, where the modifiers
+     * are {@code unique}, {@code index}, {@code summary}, {@code required} (NOT NULL) and a
+     * maximum length such as {@code 120}.
+     * Associations are written {@code name:ManyToOne:Target}; to-many ones hold a {@code List<Target>}.
+     *
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static FieldInfo parse(String specification) {
+        String[] parts = specification.split(":");
+        if (parts.length < 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid field '" + specification + "', expected format: name:type[:unique|:index|:summary|:required|:<length>]");
+        }
+        String relation = RELATIONS.stream().filter(kind -> kind.equalsIgnoreCase(parts[1].trim())).findFirst().orElse(null);
+        FieldInfo field;
+        int modifiers = 2;
+        if (relation != null) {
+            if (parts.length < 3 || parts[2].trim().isEmpty()) {
+                throw new IllegalArgumentException("Invalid field '" + specification + "', expected format: name:" + relation + ":Target");
+            }
+            String target = parts[2].trim();
+            field = new FieldInfo(parts[0].trim(), relation.endsWith("ToMany") ? "List<" + target + ">" : target);
+            field.setRelation(relation);
+            field.setTarget(target);
+            modifiers = 3;
+        } else {
+            field = new FieldInfo(parts[0].trim(), parts[1].trim());
+        }
+        for (int i = modifiers; i < parts.length; i++) {
+            switch (parts[i].trim().toLowerCase()) {
+                case "unique":
+                    field.setUnique(true);
+                    break;
+                case "index":
+                    field.setIndexed(true);
+                    break;
+                case "summary":
+                    field.setSummary(true);
+                    break;
+                case "required":
+                    field.setRequired(true);
+                    field.setNullable(false);
+                    break;
+                default:
+                    if (parts[i].trim().matches("\\d+")) {
+                        field.setMaxLength(Integer.parseInt(parts[i].trim()));
+                        break;
+                    }
+                    throw new IllegalArgumentException("Invalid field '" + specification + "', unknown modifier: " + parts[i]);
+            }
+        }
+        return field;
+    }
+
+    public boolean isRelation() {
+        return relation != null;
+    }
+
+    /**
+     * Whether the association holds a collection, mapped by the target table or a join table
+     */
+    public boolean isToMany() {
+        return relation != null && relation.endsWith("ToMany");
+    }
+
+    /**
+     * Name of this field in DTOs: a to-one association is carried as its target's ID, e.g. {@code authorId}
+     */
+    public String getDtoName() {
+        return isRelation() && !isToMany() ? name + "Id" : name;
+    }
+
+    public String getDtoType() {
+        return isRelation() && !isToMany() ? "Long" : type;
+    }
+
+    /**
+     * JPQL path of the DTO value, e.g. {@code author.id}, which reads the foreign key without a join
+     */
+    public String getDtoPath() {
+        return isRelation() && !isToMany() ? name + ".id" : name;
+    }
+
     public boolean isWrapperType() {
         return type.equals("Integer") || type.equals("Long") || 
                type.equals("Double") || type.equals("Float") || 
@@ -70,6 +173,9 @@ public class FieldInfo {
     }
 
     public String getRequiredImport() {
+        if (isToMany()) {
+            return "java.util.List";
+        }
         switch (type) {
             case "BigDecimal":
                 return "java.math.BigDecimal";
@@ -93,6 +199,8 @@ public class FieldInfo {
                 return "java.util.Set";
             case "Map":
                 return "java.util.Map";
+            case "UUID":
+                return "java.util.UUID";
             default:
                 return null;
         }
@@ -128,6 +236,91 @@ public class FieldInfo {
         return annotation.toString();
     }
 
+    /**
+     * Standard SQL column type of this field, e.g. {@code VARCHAR(255)} for a String without a max length.
+     */
+    public String getSqlType() {
+        if (isRelation()) {
+            return "BIGINT";
+        }
+        switch (type) {
+            case "String":
+                return "VARCHAR(" + (maxLength != null ? maxLength : 255) + ")";
+            case "Integer":
+            case "int":
+                return "INTEGER";
+            case "Long":
+            case "long":
+                return "BIGINT";
+            case "Short":
+            case "short":
+                return "SMALLINT";
+            case "Boolean":
+            case "boolean":
+                return "BOOLEAN";
+            case "BigDecimal":
+                return "DECIMAL(19, 2)";
+            case "BigInteger":
+                return "DECIMAL(38, 0)";
+            case "Double":
+            case "double":
+                return "DOUBLE PRECISION";
+            case "Float":
+            case "float":
+                return "REAL";
+            case "LocalDate":
+                return "DATE";
+            case "LocalTime":
+                return "TIME";
+            case "LocalDateTime":
+            case "Date":
+            case "Timestamp":
+                return "TIMESTAMP";
+            case "Instant":
+                return "TIMESTAMP WITH TIME ZONE";
+            case "UUID":
+                return "UUID";
+            default:
+                return "VARCHAR(255)";
+        }
+    }
+
+    /**
+     * MySQL column type of this field: DATETIME(6) for timestamps, which MySQL has no time zone variant of,
+     * and UUIDs as BINARY(16), as Hibernate maps them, or CHAR(36) for drivers that bind them as text (R2DBC).
+     */
+    public String getMySqlType(boolean textUuid) {
+        if (isRelation()) {
+            return getSqlType();
+        }
+        switch (type) {
+            case "Double":
+            case "double":
+                return "DOUBLE";
+            case "Float":
+            case "float":
+                return "FLOAT";
+            case "LocalDateTime":
+            case "Date":
+            case "Timestamp":
+            case "Instant":
+                return "DATETIME(6)";
+            case "UUID":
+                return textUuid ? "CHAR(36)" : "BINARY(16)";
+            default:
+                return getSqlType();
+        }
+    }
+
+    /**
+     * Column name of this field under Spring's default naming strategy, e.g. {@code created_at},
+     * or the foreign key column of a to-one association, e.g. {@code author_id}.
+     */
+    public String getColumnName() {
+        String column = name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+        return isRelation() && !isToMany() ? column + "_id" : column;
+    }
+
     public String getValidationAnnotations() {
         StringBuilder annotations = new StringBuilder();
         
@@ -0,0 +1,16 @@
+package com.scaffold.models;
+
+/**
+ * How generated repositories, services and controllers page through an entity.
+ */
+public enum Pagination {
+
+    /** Unbounded lists only */
+    NONE,
+
+    /** Page number and size ({@code Pageable}); the database still scans every skipped row */
+    OFFSET,
+
+    /** Cursor on the ascending ID; every page costs the same index seek, however deep */
+    KEYSET
+}
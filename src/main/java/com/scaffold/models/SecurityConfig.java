@@ -14,6 +14,8 @@ public class SecurityConfig {
     private String userRepositoryPackage;
     private boolean enableCors;
     private String controllerPackage;
+    private boolean stateless;
+    private boolean tokenCache;
 
     public String getJwtExpirationHours() {
         return String.valueOf(jwtExpiration / 3600000);
@@ -0,0 +1,47 @@
+package com.scaffold.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the repository, service and controller of the annotated type at compile time,
+ * with the same templates as the CLI.
+ *
+ * Packages default to siblings of the annotated type's package: an entity in
+ * {@code com.example.model} gets {@code com.example.repository}, {@code com.example.service}
+ * and {@code com.example.controller}. Package names without dots are resolved the same way;
+ * names with dots are used as they are.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Scaffold {
+
+    boolean repository() default true;
+
+    boolean service() default true;
+
+    boolean controller() default true;
+
+    boolean serviceInterface() default true;
+
+    boolean swagger() default false;
+
+    boolean validation() default true;
+
+    String basePath() default "/api/v1";
+
+    /**
+     * ID type, used when the annotated type has no {@code @Id} member.
+     */
+    String idType() default "Long";
+
+    String repositoryPackage() default "repository";
+
+    String servicePackage() default "service";
+
+    String controllerPackage() default "controller";
+}
@@ -0,0 +1,162 @@
+package com.scaffold.processor;
+
+import com.scaffold.commands.RepositoryCommand.RepositoryType;
+import com.scaffold.generators.ControllerGenerator;
+import com.scaffold.generators.RepositoryGenerator;
+import com.scaffold.generators.ServiceGenerator;
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.Pagination;
+import com.scaffold.templates.TemplateEngine;
+import com.scaffold.templates.TemplateOutput;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Annotation processor for {@link Scaffold}.
+ *
+ * Every generated file has the annotated type as its only originating element, so the processor
+ * is isolating: Gradle and Maven incremental compilation only re-scaffold the types that changed,
+ * and generated sources disappear together with their annotation.
+ */
+@SupportedAnnotationTypes("com.scaffold.processor.Scaffold")
+public class ScaffoldProcessor extends AbstractProcessor {
+
+    private static final String SOURCE_ROOT = "src/main/java/";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Scaffold.class)) {
+            if (!(element instanceof TypeElement type) || element.getKind() == ElementKind.ANNOTATION_TYPE
+                    || element.getKind() == ElementKind.ENUM) {
+                error(element, "@Scaffold applies to classes, records and interfaces");
+                continue;
+            }
+            scaffold(type, type.getAnnotation(Scaffold.class));
+        }
+        return true;
+    }
+
+    private void scaffold(TypeElement type, Scaffold scaffold) {
+        String modelName = type.getSimpleName().toString();
+        String modelPackage = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String repositoryPackage = resolvePackage(modelPackage, scaffold.repositoryPackage());
+        String servicePackage = resolvePackage(modelPackage, scaffold.servicePackage());
+        String controllerPackage = resolvePackage(modelPackage, scaffold.controllerPackage());
+
+        EntityInfo entity = new EntityInfo();
+        entity.setClassName(modelName);
+        entity.setPackageName(modelPackage);
+        entity.setIdType(scaffold.idType());
+        findId(type, entity);
+
+        TemplateEngine engine = new TemplateEngine(TemplateEngine.getActiveTemplatePack(), sourceOutput(type));
+
+        if (scaffold.repository() && !new RepositoryGenerator(engine).generate(modelName + "Repository",
+                repositoryPackage, modelName, modelPackage, RepositoryType.JPA, entity.getIdType(), true, Pagination.OFFSET, ".")) {
+            error(type, "Cannot generate " + modelName + "Repository");
+        }
+        if (scaffold.service() && !new ServiceGenerator(engine).generate(modelName + "Service", servicePackage,
+                modelName, modelPackage, repositoryPackage, scaffold.serviceInterface(), true, true,
+                scaffold.validation(), entity, ".")) {
+            error(type, "Cannot generate " + modelName + "Service");
+        }
+        if (scaffold.controller() && !new ControllerGenerator(engine).generate(modelName + "Controller",
+                controllerPackage, modelName, modelPackage, servicePackage, scaffold.basePath(), true,
+                scaffold.swagger(), scaffold.validation(), entity, ".")) {
+            error(type, "Cannot generate " + modelName + "Controller");
+        }
+    }
+
+    /**
+     * Writes generator output as source files originating from the annotated type.
+     */
+    private TemplateOutput sourceOutput(TypeElement type) {
+        return (filePath, content) -> {
+            String relative = filePath.substring(filePath.lastIndexOf(SOURCE_ROOT) + SOURCE_ROOT.length());
+            String qualifiedName = relative.substring(0, relative.length() - ".java".length()).replace('/', '.');
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = source.openWriter()) {
+                writer.write(content);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Takes the ID name and type from the member annotated with {@code @Id}/{@code @EmbeddedId},
+     * or from a member named {@code id}.
+     */
+    private void findId(TypeElement type, EntityInfo entity) {
+        Element named = null;
+        for (Element member : type.getEnclosedElements()) {
+            if ((member.getKind() != ElementKind.FIELD && member.getKind() != ElementKind.RECORD_COMPONENT)
+                    || member.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (isIdMember(member)) {
+                applyId(member, entity);
+                return;
+            }
+            if (member.getSimpleName().contentEquals("id")) {
+                named = member;
+            }
+        }
+        if (named != null) {
+            applyId(named, entity);
+        }
+    }
+
+    private static boolean isIdMember(Element member) {
+        for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+            String name = annotation.getAnnotationType().asElement().getSimpleName().toString();
+            if (name.equals("Id") || name.equals("EmbeddedId")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void applyId(Element member, EntityInfo entity) {
+        TypeMirror idType = member.asType();
+        if (idType.getKind().isPrimitive()) {
+            idType = processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(idType.getKind())).asType();
+        }
+        if (idType.getKind() == TypeKind.DECLARED) {
+            entity.setIdName(member.getSimpleName().toString());
+            entity.setIdType(((DeclaredType) idType).asElement().getSimpleName().toString());
+        }
+    }
+
+    private static String resolvePackage(String modelPackage, String packageName) {
+        if (packageName.contains(".")) {
+            return packageName;
+        }
+        int lastDot = modelPackage.lastIndexOf('.');
+        String parent = lastDot > 0 ? modelPackage.substring(0, lastDot) : modelPackage;
+        return parent.isEmpty() ? packageName : parent + "." + packageName;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
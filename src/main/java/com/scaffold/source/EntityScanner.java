@@ -0,0 +1,586 @@
+package com.scaffold.source;
+
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import com.scaffold.source.JavaTokenizer.Token;
+import com.scaffold.utils.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+/**
+ * Infers entity metadata (fields, ID type, version, column attributes, associations) from the existing
+ * {@code @Entity} classes of a project.
+ *
+ * Source files are memory-mapped and token-scanned in parallel on the common ForkJoin pool.
+ * Results are cached per file in {@code .spring-scaffold/entity-cache.bin}: files whose size
+ * and modification time did not change are not read at all, and files whose content hash did
+ * not change are not scanned again.
+ */
+@Slf4j
+public class EntityScanner {
+
+    private static final String CACHE_DIRECTORY = ".spring-scaffold";
+    private static final String CACHE_FILE = "entity-cache.bin";
+    private static final int CACHE_VERSION = 5;
+
+    private static final byte[] ENTITY_MARKER = "@Entity".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOCUMENT_MARKER = "@Document".getBytes(StandardCharsets.US_ASCII);
+    private static final Set<String> MODIFIERS = Set.of(
+        "public", "protected", "private", "final", "transient", "volatile", "static");
+
+    private final Path projectRoot;
+    private final Path sourceRoot;
+    private final Path cacheFile;
+
+    public EntityScanner(Path projectRoot) {
+        this.projectRoot = projectRoot;
+        this.sourceRoot = projectRoot.resolve("src/main/java");
+        this.cacheFile = projectRoot.resolve(CACHE_DIRECTORY).resolve(CACHE_FILE);
+    }
+
+    /**
+     * Convenience lookup used by the commands: scans the project under the output directory
+     * and returns the entity with the given name, if any.
+     */
+    public static Optional<EntityInfo> findEntity(String outputDirectory, String className, String packageName) {
+        try {
+            Optional<EntityInfo> entity = new EntityScanner(Path.of(outputDirectory)).find(className, packageName);
+            entity.ifPresent(info -> log.info("Detected entity {} (ID: {} {}, {} fields)",
+                info.getQualifiedName(), info.getIdType(), info.getIdName(), info.getFields().size()));
+            return entity;
+        } catch (Exception e) {
+            log.warn("Could not scan project entities: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether the model has a {@code <Model>Summary} projection next to the entity class.
+     */
+    public static boolean hasSummary(String outputDirectory, EntityInfo entity) {
+        return FileUtils.fileExists(FileUtils.buildFilePath(
+            outputDirectory, entity.getPackageName(), entity.getClassName() + "Summary"));
+    }
+
+    /**
+     * Finds an entity by simple name, preferring the given package when several match.
+     * Otherwise the first candidate by qualified name is returned, so the choice does not depend on
+     * directory traversal order, and the ambiguity is logged.
+     */
+    public Optional<EntityInfo> find(String className, String packageName) {
+        List<EntityInfo> candidates = scan().values().stream()
+            .filter(entity -> entity.getClassName().equals(className))
+            .collect(Collectors.toList());
+        Optional<EntityInfo> inPackage = candidates.stream()
+            .filter(entity -> entity.getPackageName().equals(packageName))
+            .findFirst();
+        if (inPackage.isPresent() || candidates.isEmpty()) {
+            return inPackage;
+        }
+        if (candidates.size() > 1) {
+            log.warn("Several entities named {} and none in {}: {}; using {}", className, packageName,
+                candidates.stream().map(EntityInfo::getQualifiedName).collect(Collectors.joining(", ")),
+                candidates.get(0).getQualifiedName());
+        }
+        return Optional.of(candidates.get(0));
+    }
+
+    /**
+     * Scans all sources of the project.
+     *
+     * @return Entities found, keyed by qualified class name, in name order
+     */
+    public Map<String, EntityInfo> scan() {
+        if (!Files.isDirectory(sourceRoot)) {
+            return Map.of();
+        }
+
+        long start = System.nanoTime();
+        Map<String, CacheEntry> previous = loadCache();
+        Map<String, BasicFileAttributes> files = listSources();
+        Map<String, CacheEntry> current = new ConcurrentHashMap<>(files.size() * 2);
+        int[] unchanged = {0};
+
+        List<Map.Entry<String, BasicFileAttributes>> changed = new ArrayList<>();
+        files.forEach((path, attributes) -> {
+            CacheEntry cached = previous.get(path);
+            if (cached != null && cached.size == attributes.size()
+                    && cached.modified == attributes.lastModifiedTime().toMillis()) {
+                current.put(path, cached);
+                unchanged[0]++;
+            } else {
+                changed.add(Map.entry(path, attributes));
+            }
+        });
+
+        changed.parallelStream().forEach(file -> {
+            CacheEntry entry = scanFile(file.getKey(), file.getValue(), previous.get(file.getKey()));
+            current.put(file.getKey(), entry);
+        });
+
+        if (!changed.isEmpty() || previous.size() != current.size()) {
+            saveCache(current);
+        }
+
+        Map<String, EntityInfo> entities = new TreeMap<>();
+        current.values().stream()
+            .filter(entry -> entry.entity != null)
+            .forEach(entry -> entities.put(entry.entity.getQualifiedName(), entry.entity));
+
+        log.debug("Scanned {} source files ({} cached, {} read) in {} ms: {} entities",
+            files.size(), unchanged[0], changed.size(), (System.nanoTime() - start) / 1_000_000, entities.size());
+        return entities;
+    }
+
+    private Map<String, BasicFileAttributes> listSources() {
+        Map<String, BasicFileAttributes> files = new HashMap<>();
+        try {
+            Files.walkFileTree(sourceRoot, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile() && file.getFileName().toString().endsWith(".java")) {
+                        files.put(projectRoot.relativize(file).toString(), attributes);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list sources in " + sourceRoot, e);
+        }
+        return files;
+    }
+
+    private CacheEntry scanFile(String relativePath, BasicFileAttributes attributes, CacheEntry previous) {
+        CacheEntry entry = new CacheEntry();
+        entry.size = attributes.size();
+        entry.modified = attributes.lastModifiedTime().toMillis();
+
+        try (FileChannel channel = FileChannel.open(projectRoot.resolve(relativePath), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate());
+            entry.hash = crc.getValue();
+            if (previous != null && entry.hash == previous.hash) {
+                entry.entity = previous.entity;
+                return entry;
+            }
+
+            if (indexOf(buffer, ENTITY_MARKER) >= 0 || indexOf(buffer, DOCUMENT_MARKER) >= 0) {
+                entry.entity = parseEntity(StandardCharsets.UTF_8.decode(buffer.duplicate()));
+            }
+        } catch (IOException e) {
+            log.debug("Cannot scan {}: {}", relativePath, e.getMessage());
+        }
+        return entry;
+    }
+
+    /**
+     * Extracts entity metadata from a source file, or returns null when the primary
+     * type is not annotated with {@code @Entity} or MongoDB's {@code @Document}.
+     */
+    static EntityInfo parseEntity(CharSequence source) {
+        List<Token> tokens = JavaTokenizer.tokenize(source);
+        EntityInfo entity = new EntityInfo();
+        entity.setPackageName("");
+        boolean isEntity = false;
+        Map<String, Map<String, String>> typeAnnotations = new HashMap<>();
+
+        int i = 0;
+        while (i < tokens.size()) {
+            Token token = tokens.get(i);
+            if (token.is("package")) {
+                StringBuilder name = new StringBuilder();
+                for (i++; i < tokens.size() && !tokens.get(i).isSymbol(';'); i++) {
+                    name.append(tokens.get(i).text());
+                }
+                entity.setPackageName(name.toString());
+            } else if (token.isSymbol('@')) {
+                i = readAnnotation(tokens, i, typeAnnotations);
+                continue;
+            } else if (token.is("class") && i + 1 < tokens.size()) {
+                entity.setClassName(tokens.get(i + 1).text());
+                isEntity = typeAnnotations.containsKey("Entity") || typeAnnotations.containsKey("Document");
+                i = skipTo(tokens, i, '{');
+                break;
+            }
+            i++;
+        }
+        if (!isEntity || i >= tokens.size()) {
+            return null;
+        }
+
+        Map<String, String> table = typeAnnotations.get("Table");
+        if (table != null && table.containsKey("name")) {
+            entity.setTableName(unquote(table.get("name")));
+        }
+        Map<String, String> document = typeAnnotations.get("Document");
+        if (document != null) {
+            entity.setDocument(true);
+            if (document.containsKey("collection")) {
+                entity.setTableName(unquote(document.get("collection")));
+            }
+        }
+        readFields(tokens, i + 1, entity);
+        return entity;
+    }
+
+    private static void readFields(List<Token> tokens, int i, EntityInfo entity) {
+        Map<String, Map<String, String>> annotations = new HashMap<>();
+        List<Token> declaration = new ArrayList<>();
+
+        while (i < tokens.size()) {
+            Token token = tokens.get(i);
+            if (token.isSymbol('}')) {
+                return;
+            } else if (token.isSymbol('@')) {
+                i = readAnnotation(tokens, i, annotations);
+                continue;
+            } else if (token.isSymbol('{')) {
+                i = skipBalanced(tokens, i, '{', '}') + 1;
+                annotations.clear();
+                declaration.clear();
+                continue;
+            } else if (token.isSymbol('(')) {
+                // Method or constructor: skip parameters and body
+                i = skipBalanced(tokens, i, '(', ')') + 1;
+                while (i < tokens.size() && !tokens.get(i).isSymbol('{') && !tokens.get(i).isSymbol(';')) {
+                    i++;
+                }
+                if (i < tokens.size() && tokens.get(i).isSymbol('{')) {
+                    i = skipBalanced(tokens, i, '{', '}');
+                }
+                annotations.clear();
+                declaration.clear();
+            } else if (token.isSymbol(';') || token.isSymbol('=')) {
+                addField(entity, declaration, annotations);
+                if (token.isSymbol('=')) {
+                    i = skipInitializer(tokens, i);
+                }
+                annotations.clear();
+                declaration.clear();
+            } else {
+                declaration.add(token);
+            }
+            i++;
+        }
+    }
+
+    private static void addField(EntityInfo entity, List<Token> declaration, Map<String, Map<String, String>> annotations) {
+        if (declaration.size() < 2 || annotations.containsKey("Transient")) {
+            return;
+        }
+        StringBuilder type = new StringBuilder();
+        for (Token token : declaration.subList(0, declaration.size() - 1)) {
+            String text = token.text();
+            if (text.equals("static")) {
+                return;
+            }
+            if (!MODIFIERS.contains(text)) {
+                type.append(text);
+                if (text.equals(",")) {
+                    type.append(' ');
+                }
+            }
+        }
+        String name = declaration.get(declaration.size() - 1).text();
+
+        if (annotations.containsKey("Id") || annotations.containsKey("EmbeddedId")) {
+            entity.setIdName(name);
+            entity.setIdType(type.toString());
+            return;
+        }
+        if (annotations.containsKey("Version")) {
+            entity.setVersionName(name);
+            return;
+        }
+
+        FieldInfo field = new FieldInfo(name, type.toString());
+        Map<String, String> column = annotations.get("Column");
+        if (column != null) {
+            field.setNullable(!"false".equals(column.get("nullable")));
+            field.setUnique("true".equals(column.get("unique")));
+            if (column.containsKey("length")) {
+                try {
+                    field.setMaxLength(Integer.parseInt(column.get("length")));
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring non-literal column length on {}", name);
+                }
+            }
+        }
+        Map<String, String> indexed = annotations.get("Indexed");
+        if (indexed != null) {
+            field.setIndexed(true);
+            field.setUnique(field.isUnique() || "true".equals(indexed.get("unique")));
+        }
+        field.setRequired(annotations.containsKey("NotNull") || annotations.containsKey("NotBlank"));
+        for (String relation : FieldInfo.RELATIONS) {
+            Map<String, String> mapping = annotations.get(relation);
+            if (mapping != null) {
+                field.setRelation(relation);
+                String target = field.getType();
+                int generic = target.indexOf('<');
+                field.setTarget(generic >= 0 ? target.substring(generic + 1, target.lastIndexOf('>')).trim() : target);
+                if (mapping.containsKey("mappedBy")) {
+                    field.setMappedBy(unquote(mapping.get("mappedBy")));
+                }
+                Map<String, String> joinColumn = annotations.get("JoinColumn");
+                if ("false".equals(mapping.get("optional")) || joinColumn != null && "false".equals(joinColumn.get("nullable"))) {
+                    field.setNullable(false);
+                }
+            }
+        }
+        entity.getFields().add(field);
+    }
+
+    /**
+     * Reads an annotation and its attributes starting at the '@' token.
+     *
+     * @return Index of the first token after the annotation
+     */
+    private static int readAnnotation(List<Token> tokens, int i, Map<String, Map<String, String>> annotations) {
+        int j = i + 1;
+        String name = null;
+        while (j < tokens.size() && tokens.get(j).isIdentifier()) {
+            name = tokens.get(j).text();
+            if (j + 1 < tokens.size() && tokens.get(j + 1).isSymbol('.')) {
+                j += 2;
+            } else {
+                j++;
+                break;
+            }
+        }
+        Map<String, String> attributes = new HashMap<>();
+        if (j < tokens.size() && tokens.get(j).isSymbol('(')) {
+            int end = skipBalanced(tokens, j, '(', ')');
+            for (int k = j + 1; k + 2 <= end; k++) {
+                if (tokens.get(k).isIdentifier() && tokens.get(k + 1).isSymbol('=')) {
+                    StringBuilder value = new StringBuilder();
+                    int v = k + 2;
+                    int depth = 0;
+                    for (; v < end; v++) {
+                        Token part = tokens.get(v);
+                        if (part.isSymbol('(') || part.isSymbol('{')) {
+                            depth++;
+                        } else if (part.isSymbol(')') || part.isSymbol('}')) {
+                            depth--;
+                        } else if (part.isSymbol(',') && depth == 0) {
+                            break;
+                        }
+                        value.append(part.text());
+                    }
+                    attributes.put(tokens.get(k).text(), value.toString());
+                    k = v;
+                } else if (k == j + 1 && !tokens.get(k + 1).isSymbol('=')) {
+                    StringBuilder value = new StringBuilder();
+                    for (int v = k; v < end; v++) {
+                        value.append(tokens.get(v).text());
+                    }
+                    attributes.put("value", value.toString());
+                    break;
+                }
+            }
+            j = end + 1;
+        }
+        if (name != null) {
+            annotations.put(name, attributes);
+        }
+        return j;
+    }
+
+    private static int skipInitializer(List<Token> tokens, int i) {
+        int depth = 0;
+        for (i++; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.isSymbol('(') || token.isSymbol('{') || token.isSymbol('[')) {
+                depth++;
+            } else if (token.isSymbol(')') || token.isSymbol('}') || token.isSymbol(']')) {
+                depth--;
+            } else if (token.isSymbol(';') && depth == 0) {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    private static int skipTo(List<Token> tokens, int i, char symbol) {
+        while (i < tokens.size() && !tokens.get(i).isSymbol(symbol)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipBalanced(List<Token> tokens, int i, char open, char close) {
+        int depth = 0;
+        for (; i < tokens.size(); i++) {
+            if (tokens.get(i).isSymbol(open)) {
+                depth++;
+            } else if (tokens.get(i).isSymbol(close) && --depth == 0) {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+            ? value.substring(1, value.length() - 1)
+            : value;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte[] pattern) {
+        int limit = buffer.limit() - pattern.length;
+        outer:
+        for (int i = 0; i <= limit; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer.get(i + j) != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private Map<String, CacheEntry> loadCache() {
+        if (!Files.exists(cacheFile)) {
+            return Map.of();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile), 1 << 16))) {
+            if (in.readInt() != CACHE_VERSION) {
+                return Map.of();
+            }
+            int count = in.readInt();
+            Map<String, CacheEntry> entries = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                CacheEntry entry = new CacheEntry();
+                entry.size = in.readLong();
+                entry.modified = in.readLong();
+                entry.hash = in.readLong();
+                entry.entity = in.readBoolean() ? readEntity(in) : null;
+                entries.put(path, entry);
+            }
+            return entries;
+        } catch (IOException e) {
+            log.debug("Ignoring unreadable entity cache {}: {}", cacheFile, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void saveCache(Map<String, CacheEntry> entries) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cacheFile), 1 << 16))) {
+                out.writeInt(CACHE_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, CacheEntry> item : entries.entrySet()) {
+                    CacheEntry entry = item.getValue();
+                    out.writeUTF(item.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeLong(entry.hash);
+                    out.writeBoolean(entry.entity != null);
+                    if (entry.entity != null) {
+                        writeEntity(out, entry.entity);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Cannot write entity cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private static EntityInfo readEntity(DataInputStream in) throws IOException {
+        EntityInfo entity = new EntityInfo();
+        entity.setClassName(in.readUTF());
+        entity.setPackageName(in.readUTF());
+        entity.setTableName(readNullable(in));
+        entity.setDocument(in.readBoolean());
+        entity.setIdName(in.readUTF());
+        entity.setIdType(in.readUTF());
+        entity.setVersionName(readNullable(in));
+        int fieldCount = in.readInt();
+        for (int i = 0; i < fieldCount; i++) {
+            FieldInfo field = new FieldInfo(in.readUTF(), in.readUTF());
+            field.setRequired(in.readBoolean());
+            field.setUnique(in.readBoolean());
+            field.setNullable(in.readBoolean());
+            field.setIndexed(in.readBoolean());
+            int maxLength = in.readInt();
+            field.setMaxLength(maxLength >= 0 ? maxLength : null);
+            field.setRelation(readNullable(in));
+            field.setTarget(readNullable(in));
+            field.setMappedBy(readNullable(in));
+            entity.getFields().add(field);
+        }
+        return entity;
+    }
+
+    private static void writeEntity(DataOutputStream out, EntityInfo entity) throws IOException {
+        out.writeUTF(entity.getClassName());
+        out.writeUTF(entity.getPackageName());
+        writeNullable(out, entity.getTableName());
+        out.writeBoolean(entity.isDocument());
+        out.writeUTF(entity.getIdName());
+        out.writeUTF(entity.getIdType());
+        writeNullable(out, entity.getVersionName());
+        out.writeInt(entity.getFields().size());
+        for (FieldInfo field : entity.getFields()) {
+            out.writeUTF(field.getName());
+            out.writeUTF(field.getType());
+            out.writeBoolean(field.isRequired());
+            out.writeBoolean(field.isUnique());
+            out.writeBoolean(field.isNullable());
+            out.writeBoolean(field.isIndexed());
+            out.writeInt(field.getMaxLength() != null ? field.getMaxLength() : -1);
+            writeNullable(out, field.getRelation());
+            writeNullable(out, field.getTarget());
+            writeNullable(out, field.getMappedBy());
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static class CacheEntry {
+        private long size;
+        private long modified;
+        private long hash;
+        private EntityInfo entity;
+    }
+}
@@ -0,0 +1,530 @@
+package com.scaffold.source;
+
+import com.scaffold.source.JavaTokenizer.Token;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Idempotent set of additions to the primary type of an existing Java source file.
+ *
+ * A patch is declared once and can be applied to any number of files. Each file is
+ * tokenized with {@link JavaTokenizer} to locate its package, imports, type annotations and
+ * members; only the additions that are not already present are inserted, so applying the
+ * same patch twice leaves the file untouched. When writing, the insertions are spliced into
+ * the file in place: bytes before the first insertion are not written, and the unchanged
+ * ranges after it are only shifted as raw bytes, never re-encoded.
+ *
+ * <pre>
+ * new JavaSourcePatch()
+ *     .addImport("java.util.Optional")
+ *     .addMethod("findByUsername", "Optional&lt;User&gt; findByUsername(String username);")
+ *     .applyTo(repositoryFile);
+ * </pre>
+ */
+@Slf4j
+public class JavaSourcePatch {
+
+    private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum", "record");
+
+    private final List<String> imports = new ArrayList<>();
+    private final List<String> annotations = new ArrayList<>();
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    private final Map<String, String> methods = new LinkedHashMap<>();
+
+    /**
+     * Adds an import unless it (or a wildcard import of its package) already exists.
+     * Static imports are declared as {@code "static pkg.Type.member"}.
+     */
+    public JavaSourcePatch addImport(String qualifiedName) {
+        imports.add(qualifiedName);
+        return this;
+    }
+
+    /**
+     * Adds an annotation to the primary type unless one with the same simple name exists.
+     *
+     * @param annotation Annotation source, e.g. {@code "@EnableCaching"}
+     */
+    public JavaSourcePatch addAnnotation(String annotation) {
+        annotations.add(annotation);
+        return this;
+    }
+
+    /**
+     * Adds a field unless a field with the given name already exists.
+     *
+     * @param name Field name used for the existence check
+     * @param declaration Field source without indentation
+     */
+    public JavaSourcePatch addField(String name, String declaration) {
+        fields.put(name, declaration);
+        return this;
+    }
+
+    /**
+     * Adds a method unless a method (of any arity) with the given name already exists.
+     *
+     * @param name Method name used for the existence check
+     * @param declaration Method source without indentation; may span several lines
+     */
+    public JavaSourcePatch addMethod(String name, String declaration) {
+        methods.put(name, declaration);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return imports.isEmpty() && annotations.isEmpty() && fields.isEmpty() && methods.isEmpty();
+    }
+
+    /**
+     * Applies the patch to source code.
+     *
+     * @return The patched source, or the same instance when nothing had to be added
+     */
+    public String apply(String source) {
+        List<Edit> edits = computeEdits(source);
+        if (edits.isEmpty()) {
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source.length() + 256);
+        int position = 0;
+        for (Edit edit : edits) {
+            result.append(source, position, edit.offset()).append(edit.text());
+            position = edit.offset();
+        }
+        result.append(source, position, source.length());
+        return result.toString();
+    }
+
+    /**
+     * Applies the patch to a file, splicing each insertion in at its byte offset.
+     *
+     * @return true when the file was modified
+     */
+    public boolean applyTo(Path file) throws IOException {
+        String source = Files.readString(file, StandardCharsets.UTF_8);
+        List<Edit> edits = computeEdits(source);
+        if (edits.isEmpty()) {
+            return false;
+        }
+
+        long[] offsets = new long[edits.size()];
+        byte[][] insertions = new byte[edits.size()][];
+        long inserted = 0;
+        int charPosition = 0;
+        long bytePosition = 0;
+        for (int k = 0; k < edits.size(); k++) {
+            Edit edit = edits.get(k);
+            bytePosition += source.substring(charPosition, edit.offset()).getBytes(StandardCharsets.UTF_8).length;
+            charPosition = edit.offset();
+            offsets[k] = bytePosition;
+            insertions[k] = edit.text().getBytes(StandardCharsets.UTF_8);
+            inserted += insertions[k].length;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Last range first, so each range is shifted before the insertion in front of it overwrites its old bytes
+            long end = channel.size();
+            for (int k = edits.size() - 1; k >= 0; k--) {
+                shift(channel, offsets[k], end, inserted);
+                inserted -= insertions[k].length;
+                write(channel, ByteBuffer.wrap(insertions[k]), offsets[k] + inserted);
+                end = offsets[k];
+            }
+        }
+        log.debug("Patched {} ({} insertions)", file, edits.size());
+        return true;
+    }
+
+    /**
+     * Moves the bytes in {@code [from, to)} towards the end of the file, copying the last chunk first.
+     */
+    private static void shift(FileChannel channel, long from, long to, long distance) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long end = to;
+        while (end > from) {
+            int length = (int) Math.min(buffer.capacity(), end - from);
+            long start = end - length;
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("File shrank while it was being patched");
+                }
+            }
+            buffer.flip();
+            write(channel, buffer, start + distance);
+            end = start;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Applies the patch to many files in parallel.
+     *
+     * @return Number of files that were modified
+     */
+    public int applyToAll(Collection<Path> files) {
+        return (int) files.parallelStream()
+            .filter(file -> {
+                try {
+                    return applyTo(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to patch " + file, e);
+                }
+            })
+            .count();
+    }
+
+    private List<Edit> computeEdits(String source) {
+        Outline outline = Outline.of(source);
+        if (outline.bodyOpen < 0 || outline.bodyClose < 0) {
+            throw new IllegalArgumentException("No type declaration found to patch");
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        addImportEdits(source, outline, edits);
+        addAnnotationEdits(source, outline, edits);
+
+        String memberIndent = outline.memberIndent(source);
+        StringBuilder fieldBlock = new StringBuilder();
+        fields.forEach((name, declaration) -> {
+            if (!outline.fields.contains(name)) {
+                fieldBlock.append('\n').append(indent(declaration, memberIndent));
+            }
+        });
+        StringBuilder methodBlock = new StringBuilder();
+        methods.forEach((name, declaration) -> {
+            if (!outline.methods.contains(name)) {
+                methodBlock.append(indent(declaration, memberIndent)).append('\n');
+            }
+        });
+
+        // Members of an enum may only follow its constant list once the list ends with a semicolon
+        if (outline.unterminatedConstants && (fieldBlock.length() > 0 || methodBlock.length() > 0)) {
+            fieldBlock.insert(0, ';');
+        }
+        if (fieldBlock.length() > 0) {
+            edits.add(new Edit(outline.membersStart, fieldBlock.toString()));
+        }
+        if (methodBlock.length() > 0) {
+            int lineStart = lineStart(source, outline.bodyClose);
+            boolean closingBraceOnOwnLine = source.substring(lineStart, outline.bodyClose).isBlank();
+            if (closingBraceOnOwnLine) {
+                boolean previousLineBlank = lineStart > 0 && source.substring(lineStart(source, lineStart - 1), lineStart).isBlank();
+                edits.add(new Edit(lineStart, (previousLineBlank ? "" : "\n") + methodBlock));
+            } else {
+                edits.add(new Edit(outline.bodyClose, "\n" + methodBlock));
+            }
+        }
+
+        edits.sort(Comparator.comparingInt(Edit::offset));
+        return edits;
+    }
+
+    private void addImportEdits(String source, Outline outline, List<Edit> edits) {
+        StringBuilder block = new StringBuilder();
+        Set<String> added = new HashSet<>();
+        for (String qualifiedName : imports) {
+            if (outline.hasImport(qualifiedName) || !added.add(qualifiedName)) {
+                continue;
+            }
+            block.append("import ").append(qualifiedName).append(";\n");
+        }
+        if (block.length() == 0) {
+            return;
+        }
+        if (outline.lastImportEnd >= 0) {
+            edits.add(new Edit(outline.lastImportEnd, "\n" + block.substring(0, block.length() - 1)));
+        } else if (outline.packageEnd >= 0) {
+            edits.add(new Edit(outline.packageEnd, "\n\n" + block.substring(0, block.length() - 1)));
+        } else {
+            edits.add(new Edit(0, block + "\n"));
+        }
+    }
+
+    private void addAnnotationEdits(String source, Outline outline, List<Edit> edits) {
+        StringBuilder block = new StringBuilder();
+        int lineStart = lineStart(source, outline.typeStart);
+        String indent = leadingWhitespace(source, lineStart);
+        for (String annotation : annotations) {
+            if (!outline.typeAnnotations.contains(simpleAnnotationName(annotation))) {
+                block.append(indent).append(annotation.trim()).append('\n');
+            }
+        }
+        if (block.length() > 0) {
+            edits.add(new Edit(lineStart, block.toString()));
+        }
+    }
+
+    private static String simpleAnnotationName(String annotation) {
+        String name = annotation.trim();
+        if (name.startsWith("@")) {
+            name = name.substring(1);
+        }
+        int parenthesis = name.indexOf('(');
+        if (parenthesis >= 0) {
+            name = name.substring(0, parenthesis);
+        }
+        return name.substring(name.lastIndexOf('.') + 1).trim();
+    }
+
+    private static String indent(String text, String indent) {
+        StringBuilder result = new StringBuilder();
+        for (String line : text.strip().split("\n", -1)) {
+            result.append(line.isBlank() ? "" : indent + line.stripTrailing()).append('\n');
+        }
+        return result.substring(0, result.length() - 1);
+    }
+
+    private static int lineStart(String source, int offset) {
+        int newline = source.lastIndexOf('\n', offset - 1);
+        return newline + 1;
+    }
+
+    private static String leadingWhitespace(String source, int lineStart) {
+        int end = lineStart;
+        while (end < source.length() && (source.charAt(end) == ' ' || source.charAt(end) == '\t')) {
+            end++;
+        }
+        return source.substring(lineStart, end);
+    }
+
+    private record Edit(int offset, String text) {
+    }
+
+    /**
+     * Locations and declared names of a source file, as far as patching needs them.
+     */
+    private static final class Outline {
+
+        int packageEnd = -1;
+        int lastImportEnd = -1;
+        int typeStart = -1;
+        int bodyOpen = -1;
+        int bodyClose = -1;
+        int membersStart = -1;
+        boolean unterminatedConstants;
+        final Set<String> imports = new HashSet<>();
+        final Set<String> wildcardImports = new HashSet<>();
+        final Set<String> typeAnnotations = new HashSet<>();
+        final Set<String> fields = new HashSet<>();
+        final Set<String> methods = new HashSet<>();
+        int firstMemberStart = -1;
+
+        static Outline of(String source) {
+            Outline outline = new Outline();
+            List<Token> tokens = JavaTokenizer.tokenize(source);
+            int i = 0;
+            while (i < tokens.size() && outline.bodyOpen < 0) {
+                Token token = tokens.get(i);
+                if (token.is("package")) {
+                    i = skipTo(tokens, i, ';');
+                    outline.packageEnd = endOf(tokens, i);
+                } else if (token.is("import")) {
+                    i = outline.readImport(tokens, i);
+                } else if (token.isSymbol('@') && i + 1 < tokens.size() && !tokens.get(i + 1).is("interface")) {
+                    i = outline.readAnnotation(tokens, i);
+                    continue;
+                } else if (isTypeKeyword(tokens, i)) {
+                    outline.typeStart = token.start();
+                    i = outline.readBody(tokens, i);
+                }
+                i++;
+            }
+            return outline;
+        }
+
+        boolean hasImport(String qualifiedName) {
+            if (imports.contains(qualifiedName)) {
+                return true;
+            }
+            int lastDot = qualifiedName.lastIndexOf('.');
+            return lastDot > 0 && wildcardImports.contains(qualifiedName.substring(0, lastDot));
+        }
+
+        String memberIndent(String source) {
+            if (firstMemberStart >= 0) {
+                return leadingWhitespace(source, lineStart(source, firstMemberStart));
+            }
+            return leadingWhitespace(source, lineStart(source, typeStart)) + "    ";
+        }
+
+        private int readImport(List<Token> tokens, int i) {
+            StringBuilder name = new StringBuilder();
+            int j = i + 1;
+            while (j < tokens.size() && !tokens.get(j).isSymbol(';')) {
+                Token part = tokens.get(j);
+                name.append(part.text());
+                if (part.is("static")) {
+                    name.append(' ');
+                }
+                j++;
+            }
+            String imported = name.toString();
+            if (imported.endsWith(".*")) {
+                wildcardImports.add(imported.substring(0, imported.length() - 2));
+            } else {
+                imports.add(imported);
+            }
+            lastImportEnd = endOf(tokens, j);
+            return j;
+        }
+
+        private int readAnnotation(List<Token> tokens, int i) {
+            int j = i + 1;
+            String simpleName = null;
+            while (j < tokens.size() && tokens.get(j).isIdentifier()) {
+                simpleName = tokens.get(j).text();
+                if (j + 1 < tokens.size() && tokens.get(j + 1).isSymbol('.')) {
+                    j += 2;
+                } else {
+                    j++;
+                    break;
+                }
+            }
+            if (simpleName != null) {
+                typeAnnotations.add(simpleName);
+            }
+            if (j < tokens.size() && tokens.get(j).isSymbol('(')) {
+                j = skipBalanced(tokens, j, '(', ')') + 1;
+            }
+            return j;
+        }
+
+        private int readBody(List<Token> tokens, int i) {
+            int j = i + 1;
+            int parenDepth = 0;
+            while (j < tokens.size()) {
+                Token token = tokens.get(j);
+                if (token.isSymbol('(')) {
+                    parenDepth++;
+                } else if (token.isSymbol(')')) {
+                    parenDepth--;
+                } else if (token.isSymbol('{') && parenDepth == 0) {
+                    break;
+                }
+                j++;
+            }
+            if (j >= tokens.size()) {
+                return j;
+            }
+            bodyOpen = tokens.get(j).start();
+            membersStart = bodyOpen + 1;
+
+            // An enum body starts with its constants, whose arguments and bodies are not members
+            boolean inConstants = tokens.get(i).is("enum");
+            int braceDepth = 1;
+            parenDepth = 0;
+            boolean inInitializer = false;
+            for (j = j + 1; j < tokens.size(); j++) {
+                Token token = tokens.get(j);
+                if (token.isSymbol('{')) {
+                    braceDepth++;
+                } else if (token.isSymbol('}')) {
+                    braceDepth--;
+                    if (braceDepth == 0) {
+                        bodyClose = token.start();
+                        if (inConstants) {
+                            unterminatedConstants = true;
+                            membersStart = tokens.get(j - 1).end();
+                        }
+                        return j;
+                    }
+                } else if (token.isSymbol('(')) {
+                    parenDepth++;
+                } else if (token.isSymbol(')')) {
+                    parenDepth--;
+                } else if (inConstants) {
+                    if (braceDepth == 1 && parenDepth == 0 && token.isSymbol(';')) {
+                        inConstants = false;
+                        membersStart = token.end();
+                    }
+                } else if (braceDepth == 1 && parenDepth == 0) {
+                    if (firstMemberStart < 0) {
+                        firstMemberStart = token.start();
+                    }
+                    if (token.isSymbol(';')) {
+                        inInitializer = false;
+                    } else if (!inInitializer && token.isIdentifier() && j + 1 < tokens.size()) {
+                        readMember(tokens, j);
+                    }
+                    if (token.isSymbol('=')) {
+                        inInitializer = true;
+                    }
+                }
+            }
+            return j;
+        }
+
+        private void readMember(List<Token> tokens, int j) {
+            Token next = tokens.get(j + 1);
+            Token previous = tokens.get(j - 1);
+            if (next.isSymbol('(')) {
+                if (!previous.isSymbol('@') && !previous.isSymbol('.') && !previous.is("new")) {
+                    methods.add(tokens.get(j).text());
+                }
+            } else if (next.isSymbol(';') || next.isSymbol('=')) {
+                fields.add(tokens.get(j).text());
+            }
+        }
+
+        private static boolean isTypeKeyword(List<Token> tokens, int i) {
+            Token token = tokens.get(i);
+            if (!token.isIdentifier() || !TYPE_KEYWORDS.contains(token.text())) {
+                return false;
+            }
+            if (i > 0 && tokens.get(i - 1).isSymbol('.')) {
+                return false;
+            }
+            if (token.is("record")) {
+                return i + 2 < tokens.size() && tokens.get(i + 1).isIdentifier()
+                    && (tokens.get(i + 2).isSymbol('(') || tokens.get(i + 2).isSymbol('<'));
+            }
+            return true;
+        }
+
+        private static int skipTo(List<Token> tokens, int i, char symbol) {
+            while (i < tokens.size() && !tokens.get(i).isSymbol(symbol)) {
+                i++;
+            }
+            return i;
+        }
+
+        private static int skipBalanced(List<Token> tokens, int i, char open, char close) {
+            int depth = 0;
+            for (; i < tokens.size(); i++) {
+                if (tokens.get(i).isSymbol(open)) {
+                    depth++;
+                } else if (tokens.get(i).isSymbol(close) && --depth == 0) {
+                    return i;
+                }
+            }
+            return i;
+        }
+
+        private static int endOf(List<Token> tokens, int i) {
+            return i < tokens.size() ? tokens.get(i).end() : -1;
+        }
+    }
+}
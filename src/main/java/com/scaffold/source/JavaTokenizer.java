@@ -0,0 +1,150 @@
+package com.scaffold.source;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal Java lexer used to locate declarations in existing source files.
+ *
+ * It only distinguishes identifiers (keywords included), literals and single-character
+ * symbols; whitespace and comments are skipped. That is enough to find packages, imports,
+ * annotations and class members without building a syntax tree.
+ */
+public final class JavaTokenizer {
+
+    public enum Kind {
+        IDENTIFIER, STRING, CHAR, NUMBER, SYMBOL
+    }
+
+    /**
+     * A token, stored as a range of the source it was read from.
+     */
+    public record Token(Kind kind, CharSequence source, int start, int end) {
+
+        public String text() {
+            return source.subSequence(start, end).toString();
+        }
+
+        public boolean is(String value) {
+            int length = end - start;
+            if (length != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (source.charAt(start + i) != value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean isSymbol(char symbol) {
+            return kind == Kind.SYMBOL && source.charAt(start) == symbol;
+        }
+
+        public boolean isIdentifier() {
+            return kind == Kind.IDENTIFIER;
+        }
+    }
+
+    private JavaTokenizer() {
+    }
+
+    public static List<Token> tokenize(CharSequence source) {
+        List<Token> tokens = new ArrayList<>(Math.max(16, source.length() / 6));
+        int length = source.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = source.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                i = skipLineComment(source, i);
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                i = skipBlockComment(source, i);
+            } else if (c == '"') {
+                int end = isTextBlock(source, i) ? skipTextBlock(source, i) : skipQuoted(source, i, '"');
+                tokens.add(new Token(Kind.STRING, source, i, end));
+                i = end;
+            } else if (c == '\'') {
+                int end = skipQuoted(source, i, '\'');
+                tokens.add(new Token(Kind.CHAR, source, i, end));
+                i = end;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(Kind.IDENTIFIER, source, i, end));
+                i = end;
+            } else if (Character.isDigit(c)) {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(source.charAt(end)) || source.charAt(end) == '_'
+                        || source.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(new Token(Kind.NUMBER, source, i, end));
+                i = end;
+            } else {
+                tokens.add(new Token(Kind.SYMBOL, source, i, i + 1));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skipLineComment(CharSequence source, int i) {
+        int length = source.length();
+        while (i < length && source.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipBlockComment(CharSequence source, int i) {
+        int length = source.length();
+        i += 2;
+        while (i + 1 < length && !(source.charAt(i) == '*' && source.charAt(i + 1) == '/')) {
+            i++;
+        }
+        return Math.min(length, i + 2);
+    }
+
+    private static boolean isTextBlock(CharSequence source, int i) {
+        return i + 2 < source.length() && source.charAt(i + 1) == '"' && source.charAt(i + 2) == '"';
+    }
+
+    private static int skipTextBlock(CharSequence source, int i) {
+        int length = source.length();
+        i += 3;
+        while (i + 2 < length) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"' && source.charAt(i + 1) == '"' && source.charAt(i + 2) == '"') {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private static int skipQuoted(CharSequence source, int i, char quote) {
+        int length = source.length();
+        i++;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote || c == '\n') {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return length;
+    }
+}
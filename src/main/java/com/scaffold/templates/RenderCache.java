@@ -0,0 +1,234 @@
+package com.scaffold.templates;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User-level, content-addressed cache of rendered templates.
+ *
+ * Entries are keyed by a SHA-256 of the template name, the template content hash and the
+ * canonical JSON form of the render context (map keys and bean properties sorted), so identical
+ * inputs always produce the same key across projects. Each entry is a plain file; its modification
+ * time is refreshed on every hit and eviction removes the least recently used entries once the
+ * cache grows beyond its size limit. The size is tracked across stores and recounted from disk
+ * every {@value #RECOUNT_INTERVAL} stores, so that long-lived JVMs stay within the limit too.
+ */
+@Slf4j
+public class RenderCache {
+
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final String CACHE_DIR_ENV = "SPRING_SCAFFOLD_CACHE_DIR";
+    private static final String ENTRY_SUFFIX = ".out";
+
+    /**
+     * Stores between two walks of the cache directory, which also pick up entries written by other processes
+     */
+    static final int RECOUNT_INTERVAL = 256;
+
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .build();
+
+    private final Path directory;
+    private final long maxBytes;
+    /** Estimated size of the cache in bytes, or -1 until it is first counted */
+    private long trackedBytes = -1;
+    private int storesSinceRecount;
+
+    public RenderCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Cache in {@code $SPRING_SCAFFOLD_CACHE_DIR}, or {@code ~/.spring-scaffold/cache} by default.
+     */
+    public static RenderCache userCache() {
+        String configured = System.getenv(CACHE_DIR_ENV);
+        Path directory = configured != null && !configured.isBlank()
+            ? Path.of(configured)
+            : Path.of(System.getProperty("user.home"), ".spring-scaffold", "cache");
+        return new RenderCache(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Computes the cache key of a render.
+     *
+     * @return The key, or null when the context cannot be canonicalized (such renders are not cached)
+     */
+    public String key(String templateName, String templateHash, Map<String, Object> context) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(templateName.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(templateHash.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(CANONICAL_MAPPER.writeValueAsBytes(context));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.debug("Render of {} is not cacheable: {}", templateName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the file holding a cached render, refreshing its LRU timestamp, or null on a miss.
+     */
+    public Path lookup(String key) {
+        Path entry = entryPath(key);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("Cannot refresh cache entry {}: {}", entry, e.getMessage());
+        }
+        return entry;
+    }
+
+    public void store(String key, String content) {
+        Path entry = entryPath(key);
+        long size;
+        try {
+            Files.createDirectories(entry.getParent());
+            Path temporary = Files.createTempFile(entry.getParent(), key, ".tmp");
+            Files.writeString(temporary, content, StandardCharsets.UTF_8);
+            size = Files.size(temporary);
+            try {
+                Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.debug("Cannot store cache entry {}: {}", entry, e.getMessage());
+            return;
+        }
+        enforceLimit(size);
+    }
+
+    /**
+     * Adds a stored entry to the tracked size and evicts once the limit is exceeded
+     */
+    private synchronized void enforceLimit(long storedBytes) {
+        if (trackedBytes < 0 || ++storesSinceRecount >= RECOUNT_INTERVAL) {
+            trackedBytes = listEntries().stream().mapToLong(Entry::size).sum();
+            storesSinceRecount = 0;
+        } else {
+            trackedBytes += storedBytes;
+        }
+        if (trackedBytes > maxBytes) {
+            trackedBytes = evict(listEntries(), maxBytes).remainingBytes();
+            storesSinceRecount = 0;
+        }
+    }
+
+    /**
+     * Removes least recently used entries until the cache fits in the given size.
+     *
+     * @return Number of entries removed
+     */
+    public int prune(long limitBytes) {
+        return evict(listEntries(), limitBytes).removed();
+    }
+
+    private Eviction evict(List<Entry> entries, long limitBytes) {
+        long total = entries.stream().mapToLong(Entry::size).sum();
+        if (total <= limitBytes) {
+            return new Eviction(0, total);
+        }
+        entries.sort(Comparator.comparingLong(Entry::lastUsed));
+        int removed = 0;
+        for (Entry entry : entries) {
+            if (total <= limitBytes) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.path());
+                total -= entry.size();
+                removed++;
+            } catch (IOException e) {
+                log.debug("Cannot evict cache entry {}: {}", entry.path(), e.getMessage());
+            }
+        }
+        log.debug("Evicted {} render cache entries", removed);
+        return new Eviction(removed, total);
+    }
+
+    public Stats stats() {
+        List<Entry> entries = listEntries();
+        long total = entries.stream().mapToLong(Entry::size).sum();
+        long oldest = entries.stream().mapToLong(Entry::lastUsed).min().orElse(0);
+        long newest = entries.stream().mapToLong(Entry::lastUsed).max().orElse(0);
+        return new Stats(entries.size(), total, maxBytes, oldest, newest);
+    }
+
+    /**
+     * Summary of the cache contents; timestamps are epoch milliseconds of last use.
+     */
+    public record Stats(int entries, long totalBytes, long maxBytes, long oldestUse, long newestUse) {
+    }
+
+    private record Entry(Path path, long size, long lastUsed) {
+    }
+
+    private record Eviction(int removed, long remainingBytes) {
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private List<Entry> listEntries() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (file.getFileName().toString().endsWith(ENTRY_SUFFIX)) {
+                        entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Cannot list render cache {}: {}", directory, e.getMessage());
+        }
+        return entries;
+    }
+}
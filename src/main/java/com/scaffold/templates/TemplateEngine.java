@@ -3,22 +3,163 @@ package com.scaffold.templates;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.github.mustachejava.MustacheResolver;
+import com.github.mustachejava.resolver.ClasspathResolver;
+import com.scaffold.utils.FileUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class TemplateEngine {
 
+    private static final String TEMPLATES_ROOT = "templates/";
+
+    private static volatile TemplatePack activeTemplatePack;
+
+    // Off unless enabled: the CLI turns on the user-level cache, library callers and tests render directly
+    private static volatile RenderCache renderCache;
+
+    private static final Map<String, String> BUILT_IN_HASHES = new ConcurrentHashMap<>();
+
+    // Compiled templates are cached by the factories, so they are shared by every engine in the JVM
+    // (e.g. across the modules of a reactor build using the Maven plugin)
+    private static final MustacheFactory BUILT_IN_FACTORY = new DefaultMustacheFactory(TEMPLATES_ROOT);
+    private static final Map<TemplatePack, MustacheFactory> PACK_FACTORIES = new ConcurrentHashMap<>();
+
     private final MustacheFactory mustacheFactory;
+    private final TemplatePack templatePack;
+    private final TemplateOutput output;
+    private final boolean cacheable;
 
     public TemplateEngine() {
-        this.mustacheFactory = new DefaultMustacheFactory("templates/");
+        this(activeTemplatePack);
+    }
+
+    public TemplateEngine(TemplatePack templatePack) {
+        this(templatePack, null);
+    }
+
+    /**
+     * @param output Receives the files of {@link #renderToFile}, or null to write them to disk. Engines
+     *               with an output never use the render cache: the compiler's Filer must not depend on
+     *               files shared with other builds.
+     */
+    public TemplateEngine(TemplatePack templatePack, TemplateOutput output) {
+        this(templatePack, output, output == null);
+    }
+
+    private TemplateEngine(TemplatePack templatePack, TemplateOutput output, boolean cacheable) {
+        this.templatePack = templatePack;
+        this.output = output;
+        this.cacheable = cacheable;
+        this.mustacheFactory = templatePack == null
+            ? BUILT_IN_FACTORY
+            : PACK_FACTORIES.computeIfAbsent(templatePack,
+                pack -> new DefaultMustacheFactory(new TemplatePackResolver(pack)));
+    }
+
+    /**
+     * Same templates and output, but never reading or writing the render cache: for contexts holding
+     * secrets, whose rendered files must not be kept in a shared directory
+     */
+    public TemplateEngine withoutRenderCache() {
+        return new TemplateEngine(templatePack, output, false);
+    }
+
+    /**
+     * Selects the template pack used by every engine created afterwards.
+     * Templates missing from the pack fall back to the built-in ones.
+     *
+     * @param archive Path to the zip/jar pack, or null to use only the built-in templates
+     */
+    public static void useTemplatePack(Path archive) {
+        activeTemplatePack = archive != null ? TemplatePack.open(archive) : null;
+        if (archive != null) {
+            log.info("Using template pack: {}", archive);
+        }
+    }
+
+    public static TemplatePack getActiveTemplatePack() {
+        return activeTemplatePack;
+    }
+
+    /**
+     * Selects the render cache shared by all engines. There is none by default.
+     *
+     * @param cache Cache to use, or null to always render
+     */
+    public static void useRenderCache(RenderCache cache) {
+        renderCache = cache;
+    }
+
+    public static RenderCache getRenderCache() {
+        return renderCache;
     }
 
     public String processTemplate(String templateName, Map<String, Object> context) {
+        RenderCache cache = cacheable ? renderCache : null;
+        String key = cache != null ? cache.key(templateName, getTemplateHash(templateName), context) : null;
+        if (key != null) {
+            Path cached = cache.lookup(key);
+            if (cached != null) {
+                try {
+                    return Files.readString(cached, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    log.debug("Ignoring unreadable cache entry {}: {}", cached, e.getMessage());
+                }
+            }
+        }
+        String content = render(templateName, context);
+        if (key != null) {
+            cache.store(key, content);
+        }
+        return content;
+    }
+
+    /**
+     * Renders a template straight into a new file. On a cache hit the cached bytes are copied
+     * to the target without rendering.
+     *
+     * @return true if the file was created, false if it already existed or could not be written
+     */
+    public boolean renderToFile(String templateName, Map<String, Object> context, String filePath) {
+        if (output != null) {
+            try {
+                return output.write(filePath, processTemplate(templateName, context));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write " + filePath, e);
+            }
+        }
+        RenderCache cache = cacheable ? renderCache : null;
+        String key = cache != null ? cache.key(templateName, getTemplateHash(templateName), context) : null;
+        if (key != null) {
+            Path cached = cache.lookup(key);
+            if (cached != null) {
+                return FileUtils.copyFile(cached, filePath);
+            }
+        }
+        String content = render(templateName, context);
+        if (key != null) {
+            cache.store(key, content);
+        }
+        return FileUtils.createFile(filePath, content);
+    }
+
+    private String render(String templateName, Map<String, Object> context) {
         try {
             Mustache mustache = mustacheFactory.compile(templateName);
             StringWriter writer = new StringWriter();
@@ -41,4 +182,53 @@ public class TemplateEngine {
             throw new RuntimeException("Error processing inline template", e);
         }
     }
+
+    /**
+     * Returns the SHA-256 of the template that would be rendered for the given name.
+     * Each template is hashed once, when its hash is first requested.
+     */
+    public String getTemplateHash(String templateName) {
+        if (templatePack != null && templatePack.contains(templateName)) {
+            return templatePack.getHash(templateName);
+        }
+        return BUILT_IN_HASHES.computeIfAbsent(templateName, TemplateEngine::hashBuiltInTemplate);
+    }
+
+    private static String hashBuiltInTemplate(String templateName) {
+        try (InputStream in = TemplateEngine.class.getClassLoader().getResourceAsStream(TEMPLATES_ROOT + templateName)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Template not found: " + templateName);
+            }
+            return sha256(in.readAllBytes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read template: " + templateName, e);
+        }
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Resolves templates from a pack first, then from the built-in classpath templates.
+     */
+    private static class TemplatePackResolver implements MustacheResolver {
+
+        private final TemplatePack templatePack;
+        private final ClasspathResolver builtIn = new ClasspathResolver(TEMPLATES_ROOT);
+
+        TemplatePackResolver(TemplatePack templatePack) {
+            this.templatePack = templatePack;
+        }
+
+        @Override
+        public Reader getReader(String resourceName) {
+            String content = templatePack.readString(resourceName);
+            return content != null ? new StringReader(content) : builtIn.getReader(resourceName);
+        }
+    }
 }
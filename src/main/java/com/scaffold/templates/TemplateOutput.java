@@ -0,0 +1,17 @@
+package com.scaffold.templates;
+
+import java.io.IOException;
+
+/**
+ * Destination of rendered files, for engines that must not write to the file system directly
+ * (e.g. the annotation processor, which writes through the compiler's Filer).
+ */
+@FunctionalInterface
+public interface TemplateOutput {
+
+    /**
+     * @param filePath Path the file would have been written to, ending in {@code src/main/java/<package>/<Name>.java}
+     * @return true if the file was written
+     */
+    boolean write(String filePath, String content) throws IOException;
+}
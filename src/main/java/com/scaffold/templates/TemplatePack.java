@@ -0,0 +1,244 @@
+package com.scaffold.templates;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A set of templates distributed as a single zip or jar archive.
+ *
+ * Only the archive's central directory is read when the pack is opened: it acts as the
+ * index of template name to offset, length and CRC-32 checksum. Entry contents are read from
+ * a memory-mapped view of the file the first time a template is requested, so rendering a
+ * handful of templates from a large pack never extracts the rest of it.
+ */
+@Slf4j
+public class TemplatePack {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    private static final String TEMPLATES_PREFIX = "templates/";
+
+    private static final Map<Path, TemplatePack> OPEN_PACKS = new ConcurrentHashMap<>();
+
+    private final Path archive;
+    private final long size;
+    private final FileTime lastModified;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entry> index;
+    private final Map<String, byte[]> contents = new ConcurrentHashMap<>();
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    /**
+     * Index record for a single template inside the archive.
+     */
+    public record Entry(String name, long headerOffset, long compressedLength, long length, int method, long crc) {
+    }
+
+    private TemplatePack(Path archive, BasicFileAttributes attributes) throws IOException {
+        this.archive = archive;
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime();
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.index = readIndex();
+        log.debug("Template pack {} indexed: {} templates", archive, index.size());
+    }
+
+    /**
+     * Opens a template pack, reusing the already mapped instance when the same archive
+     * was opened before in this JVM and its size and modification time have not changed.
+     */
+    public static TemplatePack open(Path archive) {
+        Path normalized = archive.toAbsolutePath().normalize();
+        return OPEN_PACKS.compute(normalized, (path, opened) -> {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (opened != null && opened.size == attributes.size()
+                        && opened.lastModified.equals(attributes.lastModifiedTime())) {
+                    return opened;
+                }
+                return new TemplatePack(path, attributes);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot open template pack: " + path, e);
+            }
+        });
+    }
+
+    public Path getArchive() {
+        return archive;
+    }
+
+    public boolean contains(String templateName) {
+        return index.containsKey(templateName);
+    }
+
+    public Set<String> getTemplateNames() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Returns the SHA-256 of a template's content, reading the template on first access only.
+     */
+    public String getHash(String templateName) {
+        byte[] bytes = read(templateName);
+        return bytes != null ? hashes.computeIfAbsent(templateName, name -> TemplateEngine.sha256(bytes)) : null;
+    }
+
+    /**
+     * Returns the raw bytes of a template, decompressing it on first access only.
+     * Fails with an {@link IllegalStateException} when the entry is truncated or does not match its CRC-32.
+     */
+    public byte[] read(String templateName) {
+        Entry entry = index.get(templateName);
+        if (entry == null) {
+            return null;
+        }
+        return contents.computeIfAbsent(templateName, name -> readEntry(entry));
+    }
+
+    public String readString(String templateName) {
+        byte[] bytes = read(templateName);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private Map<String, Entry> readIndex() throws IOException {
+        int end = findEndOfCentralDirectory();
+        int entryCount = Short.toUnsignedInt(buffer.getShort(end + 10));
+        long directoryOffset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        if (entryCount == 0xFFFF || directoryOffset == 0xFFFFFFFFL) {
+            throw new IOException("ZIP64 template packs are not supported: " + archive);
+        }
+
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        int position = (int) directoryOffset;
+        for (int i = 0; i < entryCount; i++) {
+            if (buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                throw new IOException("Corrupted central directory in template pack: " + archive);
+            }
+            int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+            long crc = Integer.toUnsignedLong(buffer.getInt(position + 16));
+            long compressedLength = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            long length = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            long headerOffset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(position + 46, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            if (!name.endsWith("/")) {
+                String templateName = name.startsWith(TEMPLATES_PREFIX) ? name.substring(TEMPLATES_PREFIX.length()) : name;
+                entries.put(templateName, new Entry(templateName, headerOffset, compressedLength, length, method, crc));
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int limit = buffer.capacity();
+        int lowest = Math.max(0, limit - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_LENGTH);
+        for (int position = limit - END_OF_CENTRAL_DIRECTORY_SIZE; position >= lowest; position--) {
+            if (buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+                return position;
+            }
+        }
+        throw new IOException("Not a zip archive: " + archive);
+    }
+
+    private byte[] readEntry(Entry entry) {
+        byte[] bytes = extract(entry);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if (crc.getValue() != entry.crc()) {
+            throw new IllegalStateException("CRC mismatch for " + entry.name() + " in template pack: " + archive
+                + String.format(" (expected %08x, got %08x)", entry.crc(), crc.getValue()));
+        }
+        return bytes;
+    }
+
+    private byte[] extract(Entry entry) {
+        int header = (int) entry.headerOffset();
+        if (header + 30 > buffer.capacity() || buffer.getInt(header) != LOCAL_FILE_HEADER) {
+            throw new IllegalStateException("Corrupted entry " + entry.name() + " in template pack: " + archive);
+        }
+        int nameLength = Short.toUnsignedInt(buffer.getShort(header + 26));
+        int extraLength = Short.toUnsignedInt(buffer.getShort(header + 28));
+        int start = header + 30 + nameLength + extraLength;
+        if (start + entry.compressedLength() > buffer.capacity()) {
+            throw new IllegalStateException("Truncated entry " + entry.name() + " in template pack: " + archive);
+        }
+        ByteBuffer data = buffer.slice(start, (int) entry.compressedLength());
+
+        switch (entry.method()) {
+            case METHOD_STORED: {
+                if (entry.compressedLength() != entry.length()) {
+                    throw new IllegalStateException("Corrupted entry " + entry.name() + " in template pack: " + archive);
+                }
+                byte[] bytes = new byte[data.remaining()];
+                data.get(bytes);
+                return bytes;
+            }
+            case METHOD_DEFLATED: {
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(data);
+                    byte[] bytes = new byte[(int) entry.length()];
+                    int read = 0;
+                    while (read < bytes.length && !inflater.finished()) {
+                        int n = inflater.inflate(bytes, read, bytes.length - read);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        read += n;
+                    }
+                    if (read == bytes.length && !inflater.finished()) {
+                        // The end-of-stream marker may still be pending once the output is full
+                        read += inflater.inflate(new byte[1]);
+                    }
+                    // A short stream would otherwise leave the rest of the array zero-filled
+                    if (read != bytes.length || !inflater.finished()) {
+                        throw new IllegalStateException("Truncated entry " + entry.name() + " in template pack: " + archive
+                            + " (" + read + " of " + bytes.length + " bytes)");
+                    }
+                    return bytes;
+                } catch (DataFormatException e) {
+                    throw new IllegalStateException("Cannot inflate " + entry.name() + " from template pack: " + archive, e);
+                } finally {
+                    inflater.end();
+                }
+            }
+            default:
+                throw new IllegalStateException("Unsupported compression method " + entry.method()
+                    + " for " + entry.name() + " in template pack: " + archive);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.scaffold.utils;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,6 +34,39 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Copies an existing file to a new location using channel-to-channel transfer.
+     * Follows the same rules as {@link #createFile(String, String)}: existing files are never overwritten.
+     */
+    public static boolean copyFile(Path source, String filePath) {
+        try {
+            Path path = Paths.get(filePath);
+            Path parentDir = path.getParent();
+            if (parentDir != null && !Files.exists(parentDir)) {
+                Files.createDirectories(parentDir);
+                log.info("Directories created: {}", parentDir);
+            }
+            if (Files.exists(path)) {
+                log.warn("File already exists: {}", filePath);
+                return false;
+            }
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+            log.info("File created: {}", filePath);
+            return true;
+
+        } catch (IOException e) {
+            log.error("Error creating file: {}", filePath, e);
+            return false;
+        }
+    }
+
     public static String packageToPath(String packageName) {
         if (packageName == null || packageName.trim().isEmpty()) {
             return "";
@@ -2,6 +2,11 @@ package com.scaffold;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -38,4 +43,18 @@ public class SpringScaffoldCLITest {
             Class.forName("com.scaffold.commands.ModelCommand");
         });
     }
+
+    @Test
+    @DisplayName("Enum options should be accepted in lower case")
+    public void testCaseInsensitiveEnums(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, SpringScaffoldCLI.createCommandLine().execute("model", "Order", "code:String",
+            "--pkg", "com.example.model", "-o", output));
+
+        assertEquals(0, SpringScaffoldCLI.createCommandLine().execute("controller", "OrderController",
+            "--crud", "--pagination", "keyset", "-p", "com.example.controller",
+            "--model-package", "com.example.model", "--service-package", "com.example.service", "-o", output));
+        assertTrue(Files.readString(tempDir.resolve("src/main/java/com/example/controller/OrderController.java"))
+            .contains("cursor"));
+    }
 }
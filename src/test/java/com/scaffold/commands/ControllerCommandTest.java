@@ -0,0 +1,39 @@
+package com.scaffold.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the option checks of the controller command
+ */
+public class ControllerCommandTest {
+
+    @Test
+    @DisplayName("A controller should refuse --bulk without --crud")
+    public void testBulkNeedsCrud(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Book", "title:String", "--pkg", "com.example.model", "-o", output));
+
+        assertEquals(1, run(new ControllerCommand(), "BookController", "--bulk",
+            "-p", "com.example.controller", "--model-package", "com.example.model",
+            "--service-package", "com.example.service", "-o", output));
+        assertFalse(Files.exists(tempDir.resolve("src/main/java/com/example/controller/BookController.java")));
+
+        assertEquals(0, run(new ControllerCommand(), "BookController", "--crud", "--bulk",
+            "-p", "com.example.controller", "--model-package", "com.example.model",
+            "--service-package", "com.example.service", "-o", output));
+        assertTrue(Files.readString(tempDir.resolve("src/main/java/com/example/controller/BookController.java"))
+            .contains("/bulk"));
+    }
+
+    private static int run(Object command, String... args) {
+        return new CommandLine(command).execute(args);
+    }
+}
@@ -0,0 +1,65 @@
+package com.scaffold.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the layers generated with --dto exchange DTOs instead of entities
+ */
+public class DtoLayerTest {
+
+    @Test
+    @DisplayName("DTO layers should map field by field and read responses with constructor expressions")
+    public void testDtoLayers(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Author", "name:String", "--pkg", "com.example.model", "-o", output));
+        assertEquals(0, run(new ModelCommand(), "Book", "title:String:120:required", "author:ManyToOne:Author", "--dto",
+            "--pkg", "com.example.model", "-o", output));
+        assertEquals(0, run(new RepositoryCommand(), "BookRepository", "--dto",
+            "-p", "com.example.repository", "--model-package", "com.example.model", "-o", output));
+        assertEquals(0, run(new ServiceCommand(), "BookService", "--crud", "--dto",
+            "-p", "com.example.service", "--model-package", "com.example.model",
+            "--repository-package", "com.example.repository", "-o", output));
+        assertEquals(0, run(new ControllerCommand(), "BookController", "--crud", "--dto",
+            "-p", "com.example.controller", "--model-package", "com.example.model",
+            "--service-package", "com.example.service", "-o", output));
+
+        Path sources = tempDir.resolve("src/main/java/com/example");
+        String request = Files.readString(sources.resolve("dto/BookRequest.java"));
+        String response = Files.readString(sources.resolve("dto/BookResponse.java"));
+        String mapper = Files.readString(sources.resolve("dto/BookMapper.java"));
+        String repository = Files.readString(sources.resolve("repository/BookRepository.java"));
+        String service = Files.readString(sources.resolve("service/BookServiceImpl.java"));
+        String controller = Files.readString(sources.resolve("controller/BookController.java"));
+
+        assertTrue(request.contains("public record BookRequest("));
+        assertTrue(request.contains("Long authorId)"));
+        assertTrue(response.contains("public record BookResponse(\n        Long id,\n        String title,\n        Long authorId)"));
+
+        assertTrue(mapper.contains("book.getTitle(),"));
+        assertTrue(mapper.contains("book.getAuthor() != null ? book.getAuthor().getId() : null"));
+        assertTrue(mapper.contains("entityManager.getReference(Author.class, request.authorId())"));
+        assertFalse(mapper.contains("java.lang.reflect"));
+
+        assertTrue(repository.contains(
+            "@Query(\"SELECT new com.example.dto.BookResponse(m.id, m.title, m.author.id) FROM Book m\")"));
+        assertTrue(repository.contains("Optional<BookResponse> findResponseById(@Param(\"id\") Long id);"));
+        assertTrue(service.contains("bookRepository.findResponseById(id)"));
+        assertTrue(service.contains("bookMapper.toResponse(bookRepository.save(bookMapper.toEntity(request)))"));
+
+        assertTrue(controller.contains("@RequestBody BookRequest request"));
+        assertTrue(controller.contains("ResponseEntity<BookResponse> findById("));
+        assertFalse(controller.contains("import com.example.model.Book;"), "The API should not expose the entity");
+    }
+
+    private static int run(Object command, String... args) {
+        return new CommandLine(command).execute(args);
+    }
+}
@@ -0,0 +1,65 @@
+package com.scaffold.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the models and migrations generated by the model command
+ */
+public class ModelCommandTest {
+
+    private static final String[] PRODUCT = {
+        "Product", "name:String:120:required", "sku:String:unique", "category:String:index",
+        "--compound-index", "name,category", "--pkg", "com.example.model"
+    };
+
+    @Test
+    @DisplayName("A JPA model should get a migration with its column constraints and indexes")
+    public void testMigration(@TempDir Path tempDir) throws Exception {
+        assertEquals(0, run(tempDir, PRODUCT));
+
+        String migration = Files.readString(tempDir.resolve("src/main/resources/db/migration/V1__create_products.sql"));
+        assertTrue(migration.contains("CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;"));
+        assertTrue(migration.contains("    name VARCHAR(120) NOT NULL,\n"));
+        assertTrue(migration.contains("    sku VARCHAR(255) UNIQUE,\n"));
+        assertTrue(migration.contains("CREATE INDEX idx_products_category ON products (category);"));
+        assertTrue(migration.contains("CREATE INDEX idx_products_name_category ON products (name, category);"));
+
+        String model = Files.readString(tempDir.resolve("src/main/java/com/example/model/Product.java"));
+        assertTrue(model.contains("@Index(name = \"idx_products_name_category\", columnList = \"name, category\")"));
+
+        assertEquals(0, run(tempDir, "Order", "code:String", "--migration", "--pkg", "com.example.model"));
+        assertTrue(Files.exists(tempDir.resolve("src/main/resources/db/migration/V2__create_orders.sql")));
+        assertEquals(0, run(tempDir, "Invoice", "code:String", "--no-migration", "--pkg", "com.example.model"));
+        assertFalse(Files.exists(tempDir.resolve("src/main/resources/db/migration/V3__create_invoices.sql")));
+    }
+
+    @Test
+    @DisplayName("A MySQL project should get the sequence table Hibernate uses instead of a sequence")
+    public void testMySqlMigration(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("pom.xml"),
+            "<project><dependencies><dependency><artifactId>mysql-connector-j</artifactId></dependency></dependencies></project>");
+        assertEquals(0, run(tempDir, PRODUCT));
+
+        String migration = Files.readString(tempDir.resolve("src/main/resources/db/migration/V1__create_products.sql"));
+        assertFalse(migration.contains("CREATE SEQUENCE"));
+        assertTrue(migration.contains("CREATE TABLE products_seq (\n    next_val BIGINT\n);"));
+        assertTrue(migration.contains("INSERT INTO products_seq VALUES (1);"));
+        assertTrue(migration.contains("CREATE INDEX idx_products_name_category ON products (name, category);"));
+    }
+
+    private static int run(Path output, String... args) {
+        String[] withOutput = new String[args.length + 2];
+        System.arraycopy(args, 0, withOutput, 0, args.length);
+        withOutput[args.length] = "-o";
+        withOutput[args.length + 1] = output.toString();
+        return new CommandLine(new ModelCommand()).execute(withOutput);
+    }
+}
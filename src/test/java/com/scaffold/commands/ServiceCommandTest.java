@@ -0,0 +1,61 @@
+package com.scaffold.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the services generated by the service command
+ */
+public class ServiceCommandTest {
+
+    @Test
+    @DisplayName("A cached DTO service should evict the ID and exists entries when it creates a row")
+    public void testCreateEvictsCachedLookup(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Book", "title:String", "--dto",
+            "--pkg", "com.example.model", "-o", output));
+        assertEquals(0, run(new ServiceCommand(), "BookService", "--crud", "--dto", "--cache",
+            "-p", "com.example.service", "--model-package", "com.example.model",
+            "--repository-package", "com.example.repository", "-o", output));
+
+        String service = Files.readString(tempDir.resolve("src/main/java/com/example/service/BookServiceImpl.java"));
+        int create = service.indexOf("public BookResponse create(");
+        assertTrue(create > 0);
+        String annotations = service.substring(service.lastIndexOf("@Override", create), create);
+        assertTrue(annotations.contains("@CacheEvict(key = \"#result.id()\")"), annotations);
+        assertTrue(annotations.contains("@CacheEvict(key = \"'exists:' + #result.id()\")"), annotations);
+    }
+
+    @Test
+    @DisplayName("A JPA service should refuse --cache without --dto")
+    public void testCacheNeedsDto(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Book", "title:String", "--pkg", "com.example.model", "-o", output));
+
+        assertEquals(1, run(new ServiceCommand(), "BookService", "--crud", "--cache",
+            "-p", "com.example.service", "--model-package", "com.example.model", "-o", output));
+        assertFalse(Files.exists(tempDir.resolve("src/main/java/com/example/service/BookServiceImpl.java")));
+    }
+
+    @Test
+    @DisplayName("A service should refuse --bulk without --crud")
+    public void testBulkNeedsCrud(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Book", "title:String", "--pkg", "com.example.model", "-o", output));
+
+        assertEquals(1, run(new ServiceCommand(), "BookService", "--bulk",
+            "-p", "com.example.service", "--model-package", "com.example.model", "-o", output));
+        assertFalse(Files.exists(tempDir.resolve("src/main/java/com/example/service/BookServiceImpl.java")));
+    }
+
+    private static int run(Object command, String... args) {
+        return new CommandLine(command).execute(args);
+    }
+}
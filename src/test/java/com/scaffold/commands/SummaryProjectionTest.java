@@ -0,0 +1,88 @@
+package com.scaffold.commands;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the layers generated for a model with summary fields call each other's methods
+ */
+public class SummaryProjectionTest {
+
+    /**
+     * Methods a JPA repository inherits from JpaRepository
+     */
+    private static final Set<String> INHERITED = Set.of(
+        "findAll", "findById", "save", "saveAll", "existsById", "deleteById", "delete", "count", "flush");
+
+    @Test
+    @DisplayName("A JPA repository should declare the projection queries the service calls")
+    public void testJpaProjection(@TempDir Path tempDir) throws Exception {
+        String output = tempDir.toString();
+        assertEquals(0, run(new ModelCommand(), "Product", "name:String:summary", "price:BigDecimal",
+            "--pkg", "com.example.model", "-o", output));
+        assertEquals(0, run(new RepositoryCommand(), "ProductRepository",
+            "-p", "com.example.repository", "--model-package", "com.example.model", "-o", output));
+        assertEquals(0, run(new ServiceCommand(), "ProductService", "--crud",
+            "-p", "com.example.service", "--model-package", "com.example.model",
+            "--repository-package", "com.example.repository", "-o", output));
+        assertEquals(0, run(new ControllerCommand(), "ProductController", "--crud",
+            "-p", "com.example.controller", "--model-package", "com.example.model",
+            "--service-package", "com.example.service", "-o", output));
+
+        Path sources = tempDir.resolve("src/main/java/com/example");
+        assertTrue(Files.exists(sources.resolve("model/ProductSummary.java")));
+        String repository = Files.readString(sources.resolve("repository/ProductRepository.java"));
+        String service = Files.readString(sources.resolve("service/ProductService.java"));
+        String serviceImpl = Files.readString(sources.resolve("service/ProductServiceImpl.java"));
+        String controller = Files.readString(sources.resolve("controller/ProductController.java"));
+
+        assertTrue(repository.contains("import com.example.model.ProductSummary;"));
+        assertTrue(repository.contains("List<ProductSummary> findAllProjectedBy();"));
+        assertTrue(repository.contains("Page<ProductSummary> findAllProjectedBy(Pageable pageable);"));
+        assertTrue(serviceImpl.contains("productRepository.findAllProjectedBy()"));
+        assertTrue(serviceImpl.contains("productRepository.findAllProjectedBy(pageable)"));
+        assertTrue(controller.contains("ResponseEntity<Page<ProductSummary>> findAll("));
+
+        Set<String> repositoryMethods = declared(repository);
+        repositoryMethods.addAll(INHERITED);
+        for (String call : calls(serviceImpl, "productRepository")) {
+            assertTrue(repositoryMethods.contains(call), "ProductRepository does not declare " + call);
+        }
+        Set<String> serviceMethods = declared(service);
+        for (String call : calls(controller, "productService")) {
+            assertTrue(serviceMethods.contains(call), "ProductService does not declare " + call);
+        }
+    }
+
+    private static int run(Object command, String... args) {
+        return new CommandLine(command).execute(args);
+    }
+
+    private static Set<String> calls(String source, String receiver) {
+        return matches(Pattern.compile("\\b" + receiver + "\\.(\\w+)\\("), source);
+    }
+
+    private static Set<String> declared(String source) {
+        return matches(Pattern.compile("^\\s+[\\w<>, ]+\\s(\\w+)\\([^)]*\\);", Pattern.MULTILINE), source);
+    }
+
+    private static Set<String> matches(Pattern pattern, String source) {
+        Set<String> names = new TreeSet<>();
+        Matcher matcher = pattern.matcher(source);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,117 @@
+package com.scaffold.doctor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the performance analyzer
+ */
+public class ProjectDoctorTest {
+
+    private static final String ENTITY = String.join("\n",
+        "package com.example.model;",
+        "",
+        "@Entity",
+        "@Table(name = \"orders\", indexes = @Index(columnList = \"external_ref\", unique = true))",
+        "public class Order {",
+        "    @Id",
+        "    @GeneratedValue(strategy = GenerationType.IDENTITY)",
+        "    private Long id;",
+        "    @Column(unique = true)",
+        "    private String code;",
+        "    @Column(unique = true)",
+        "    private String externalRef;",
+        "    // @ManyToOne in a comment is ignored",
+        "    @ManyToOne(fetch = FetchType.LAZY)",
+        "    private Customer customer;",
+        "    @OneToMany(mappedBy = \"order\", fetch = FetchType.EAGER)",
+        "    private List<Line> lines;",
+        "}",
+        "");
+
+    private static final String CONTROLLER = String.join("\n",
+        "package com.example.controller;",
+        "",
+        "@RestController",
+        "public class OrderController {",
+        "    @GetMapping",
+        "    @Operation(summary = \"List\")",
+        "    public ResponseEntity<List<Order>> findAll() {",
+        "        return ResponseEntity.ok(service.findAll());",
+        "    }",
+        "",
+        "    @GetMapping(\"/page\")",
+        "    public Page<Order> page(Pageable pageable) {",
+        "        return service.findAll(pageable);",
+        "    }",
+        "}",
+        "");
+
+    private static final String PROPERTIES = String.join("\n",
+        "spring.datasource.url=jdbc:h2:mem:test",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.show-sql=true",
+        "logging.level.org.springframework.web=DEBUG",
+        "");
+
+    @Test
+    @DisplayName("Doctor should report anti-patterns with their locations")
+    public void testFindings(@TempDir Path project) throws Exception {
+        writeProject(project);
+
+        ProjectDoctor.Report report = new ProjectDoctor(project).examine();
+        List<String> found = report.findings().stream()
+            .map(finding -> finding.rule() + "@" + finding.location())
+            .toList();
+
+        Path model = Path.of("src/main/java/com/example/model/Order.java");
+        Path controller = Path.of("src/main/java/com/example/controller/OrderController.java");
+        Path properties = Path.of("src/main/resources/application.properties");
+        assertEquals(3, report.filesChecked());
+        assertEquals(List.of(
+            "unbounded-list@" + controller + ":7",
+            "identity-ids@" + model + ":7",
+            "unique-without-index@" + model + ":9",
+            "eager-fetch@" + model + ":16",
+            "open-in-view@" + properties,
+            "ddl-auto-update@" + properties + ":2",
+            "show-sql@" + properties + ":3",
+            "verbose-logging@" + properties + ":4"), found);
+    }
+
+    @Test
+    @DisplayName("Fix patch should rewrite only the fixable lines")
+    public void testFixPatch(@TempDir Path project) throws Exception {
+        writeProject(project);
+        ProjectDoctor doctor = new ProjectDoctor(project);
+
+        String patch = doctor.createPatch(doctor.examine().findings());
+
+        assertTrue(patch.contains("--- a/src/main/resources/application.properties\n"));
+        assertTrue(patch.contains("-spring.jpa.hibernate.ddl-auto=update\n+spring.jpa.hibernate.ddl-auto=validate\n"));
+        assertTrue(patch.contains("+logging.level.org.springframework.web=INFO\n+spring.jpa.open-in-view=false\n"));
+        assertTrue(patch.contains("-    @OneToMany(mappedBy = \"order\", fetch = FetchType.EAGER)\n"
+            + "+    @OneToMany(mappedBy = \"order\", fetch = FetchType.LAZY)\n"));
+        assertFalse(patch.contains("OrderController"));
+        assertFalse(patch.contains("GenerationType.SEQUENCE"), "ID strategy changes need a schema migration");
+    }
+
+    private static void writeProject(Path project) throws Exception {
+        Path sources = project.resolve("src/main/java/com/example");
+        Files.createDirectories(sources.resolve("model"));
+        Files.createDirectories(sources.resolve("controller"));
+        Files.createDirectories(project.resolve("src/main/resources"));
+        Files.createDirectories(project.resolve("target/classes"));
+        Files.writeString(sources.resolve("model/Order.java"), ENTITY);
+        Files.writeString(sources.resolve("controller/OrderController.java"), CONTROLLER);
+        Files.writeString(project.resolve("src/main/resources/application.properties"), PROPERTIES);
+        Files.writeString(project.resolve("target/classes/application.properties"), PROPERTIES);
+    }
+}
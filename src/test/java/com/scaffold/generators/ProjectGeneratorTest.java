@@ -0,0 +1,85 @@
+package com.scaffold.generators;
+
+import com.scaffold.commands.ProjectCommand.DatabaseType;
+import com.scaffold.commands.ProjectCommand.PackagingType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the generated project build file
+ */
+public class ProjectGeneratorTest {
+
+    private static final Pattern DEPENDENCY = Pattern.compile("<dependency>(.*?)</dependency>", Pattern.DOTALL);
+
+    @Test
+    @DisplayName("An H2 project should declare the H2 driver once, with runtime scope")
+    public void testH2Driver(@TempDir Path tempDir) throws Exception {
+        String pom = generatePom(tempDir, DatabaseType.H2, "web", "jpa");
+
+        List<String> h2 = dependencies(pom, "com.h2database", "h2");
+        assertEquals(1, h2.size(), "Expected one h2 dependency: " + h2);
+        assertTrue(h2.get(0).contains("<scope>runtime</scope>"));
+    }
+
+    @Test
+    @DisplayName("Other databases should keep H2 for tests only")
+    public void testH2TestScope(@TempDir Path tempDir) throws Exception {
+        String pom = generatePom(tempDir, DatabaseType.MYSQL, "web", "jpa");
+
+        List<String> h2 = dependencies(pom, "com.h2database", "h2");
+        assertEquals(1, h2.size(), "Expected one h2 dependency: " + h2);
+        assertTrue(h2.get(0).contains("<scope>test</scope>"));
+    }
+
+    @Test
+    @DisplayName("Projects should include the Flyway database module their database needs")
+    public void testFlywayModules(@TempDir Path tempDir) throws Exception {
+        String postgres = generatePom(tempDir.resolve("postgres"), DatabaseType.POSTGRESQL, "web", "jpa");
+        assertEquals(1, dependencies(postgres, "org.flywaydb", "flyway-core").size());
+        assertEquals(1, dependencies(postgres, "org.flywaydb", "flyway-database-postgresql").size());
+        assertTrue(dependencies(postgres, "org.flywaydb", "flyway-mysql").isEmpty());
+
+        String mysql = generatePom(tempDir.resolve("mysql"), DatabaseType.MYSQL, "web", "jpa");
+        assertEquals(1, dependencies(mysql, "org.flywaydb", "flyway-mysql").size());
+        assertTrue(dependencies(mysql, "org.flywaydb", "flyway-database-postgresql").isEmpty());
+
+        // Flyway 9, managed up to Spring Boot 3.2, has PostgreSQL support built in and no such module
+        String older = generatePom(tempDir.resolve("older"), "3.2.0", DatabaseType.POSTGRESQL, "web", "jpa");
+        assertTrue(dependencies(older, "org.flywaydb", "flyway-database-postgresql").isEmpty());
+    }
+
+    private static String generatePom(Path tempDir, DatabaseType database, String... dependencies) throws Exception {
+        return generatePom(tempDir, "3.3.5", database, dependencies);
+    }
+
+    private static String generatePom(Path tempDir, String springBootVersion, DatabaseType database,
+                                      String... dependencies) throws Exception {
+        assertTrue(new ProjectGenerator().generate("shop", "com.example.shop", "com.example", springBootVersion, "17",
+            dependencies, database, PackagingType.JAR, false, false, false, tempDir.toString()));
+        return Files.readString(tempDir.resolve("shop/pom.xml"));
+    }
+
+    private static List<String> dependencies(String pom, String groupId, String artifactId) {
+        List<String> found = new ArrayList<>();
+        Matcher matcher = DEPENDENCY.matcher(pom);
+        while (matcher.find()) {
+            String dependency = matcher.group(1);
+            if (dependency.contains("<groupId>" + groupId + "</groupId>")
+                    && dependency.contains("<artifactId>" + artifactId + "</artifactId>")) {
+                found.add(dependency);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,58 @@
+package com.scaffold.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the @Scaffold annotation processor
+ */
+public class ScaffoldProcessorTest {
+
+    @Test
+    @DisplayName("Processor should generate the requested layers next to the model package")
+    public void testGeneratesLayers(@TempDir Path tempDir) throws Exception {
+        Path model = tempDir.resolve("src/com/example/model/Product.java");
+        Files.createDirectories(model.getParent());
+        Files.writeString(model, String.join("\n",
+            "package com.example.model;",
+            "",
+            "@com.scaffold.processor.Scaffold(serviceInterface = false, controller = false)",
+            "public record Product(java.util.UUID id, String name) {",
+            "}",
+            ""));
+        Path generated = Files.createDirectories(tempDir.resolve("generated"));
+
+        // Only annotation processing runs; the generated sources need Spring to compile
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(model.toFile());
+            List<String> options = List.of(
+                "-proc:only",
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", generated.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostic -> { }, options, null, sources);
+            task.setProcessors(List.of(new ScaffoldProcessor()));
+            task.call();
+        }
+
+        Path repository = generated.resolve("com/example/repository/ProductRepository.java");
+        Path service = generated.resolve("com/example/service/ProductService.java");
+        assertTrue(Files.exists(repository));
+        assertTrue(Files.exists(service));
+        assertFalse(Files.exists(generated.resolve("com/example/service/ProductServiceImpl.java")));
+        assertFalse(Files.exists(generated.resolve("com/example/controller/ProductController.java")));
+        assertTrue(Files.readString(repository).contains("extends JpaRepository<Product, UUID>"));
+        assertTrue(Files.readString(service).contains("import com.example.repository.ProductRepository;"));
+    }
+}
@@ -0,0 +1,239 @@
+package com.scaffold.scale;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scaffold.commands.ProjectCommand.DatabaseType;
+import com.scaffold.commands.ProjectCommand.PackagingType;
+import com.scaffold.commands.RepositoryCommand.RepositoryType;
+import com.scaffold.generators.ControllerGenerator;
+import com.scaffold.generators.ModelGenerator;
+import com.scaffold.generators.ProjectGenerator;
+import com.scaffold.generators.RepositoryGenerator;
+import com.scaffold.generators.SecurityGenerator;
+import com.scaffold.generators.ServiceGenerator;
+import com.scaffold.models.Pagination;
+import com.scaffold.templates.RenderCache;
+import com.scaffold.templates.TemplateEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives every generator over a synthetic domain and checks wall time, peak heap and throughput.
+ *
+ * The default size runs with the regular test suite; {@code mvn test -Pscale} runs the 10k entity
+ * domain. Sizes and limits are read from {@code scale.*} system properties and every run writes a
+ * JSON report to {@code target/scale-reports} so results can be compared across releases.
+ * Output goes to {@code scale.target}, or /dev/shm when available, or a temporary directory.
+ */
+public class ScaleHarnessTest {
+
+    private static final String BASE_PACKAGE = "com.example.scale";
+
+    @Test
+    @DisplayName("Generators should stay within time, heap and throughput limits")
+    public void testSyntheticDomain(@TempDir Path tempDir) throws Exception {
+        SyntheticDomain domain = SyntheticDomain.fromSystemProperties();
+        long maxWallMillis = Long.getLong("scale.maxWallSeconds", 60) * 1000;
+        long maxPeakHeapBytes = Long.getLong("scale.maxPeakHeapMb", 512) * 1024 * 1024;
+        long minFilesPerSecond = Long.getLong("scale.minFilesPerSecond", 50);
+
+        Path target = Files.createTempDirectory(outputRoot(tempDir), "scale-");
+        RenderCache previousCache = TemplateEngine.getRenderCache();
+        Logger scaffoldLogger = (Logger) LoggerFactory.getLogger("com.scaffold");
+        Level previousLevel = scaffoldLogger.getLevel();
+
+        TemplateEngine.useRenderCache(null);
+        scaffoldLogger.setLevel(Level.toLevel(System.getProperty("scale.logLevel"), Level.WARN));
+        try {
+            Map<String, Long> phases = new LinkedHashMap<>();
+            resetPeakHeap();
+            long start = System.nanoTime();
+
+            Path projectDir = generate(domain, target, phases);
+
+            long wallMillis = (System.nanoTime() - start) / 1_000_000;
+            long peakHeapBytes = peakHeap();
+            long[] output = countOutput(projectDir);
+            long files = output[0];
+            double filesPerSecond = files * 1000.0 / Math.max(1, wallMillis);
+
+            writeReport(domain, phases, wallMillis, peakHeapBytes, files, output[1], filesPerSecond);
+
+            assertEquals(5L * domain.entities(), countEntitySources(projectDir),
+                "Every entity should produce a model, repository, service, service implementation and controller");
+            assertTrue(wallMillis <= maxWallMillis,
+                "Wall time " + wallMillis + " ms exceeds " + maxWallMillis + " ms");
+            assertTrue(peakHeapBytes <= maxPeakHeapBytes,
+                "Peak heap " + peakHeapBytes + " bytes exceeds " + maxPeakHeapBytes + " bytes");
+            assertTrue(filesPerSecond >= minFilesPerSecond,
+                "Throughput " + filesPerSecond + " files/s is below " + minFilesPerSecond + " files/s");
+        } finally {
+            TemplateEngine.useRenderCache(previousCache);
+            scaffoldLogger.setLevel(previousLevel);
+            deleteRecursively(target);
+        }
+    }
+
+    private Path generate(SyntheticDomain domain, Path target, Map<String, Long> phases) throws IOException {
+        String output = target.toString();
+
+        long phase = System.nanoTime();
+        assertTrue(new ProjectGenerator().generate("scale-app", BASE_PACKAGE, "com.example", "3.2.0", "17",
+            new String[]{"web", "jpa", "security", "validation", "lombok", "test"},
+            DatabaseType.H2, PackagingType.JAR, true, true, true, output));
+        phase = lap(phases, "project", phase);
+
+        Path projectDir = target.resolve("scale-app");
+        String projectOutput = projectDir.toString();
+        String modelPackage = BASE_PACKAGE + ".model";
+        String repositoryPackage = BASE_PACKAGE + ".repository";
+        String servicePackage = BASE_PACKAGE + ".service";
+
+        ModelGenerator modelGenerator = new ModelGenerator();
+        for (int i = 0; i < domain.entities(); i++) {
+            assertTrue(modelGenerator.generate(domain.entityName(i), modelPackage, domain.fieldsOf(i),
+                null, true, true, true, projectOutput));
+        }
+        phase = lap(phases, "models", phase);
+
+        RepositoryGenerator repositoryGenerator = new RepositoryGenerator();
+        for (int i = 0; i < domain.entities(); i++) {
+            String entity = domain.entityName(i);
+            assertTrue(repositoryGenerator.generate(entity + "Repository", repositoryPackage, entity, modelPackage,
+                RepositoryType.JPA, "Long", true, Pagination.OFFSET, projectOutput));
+        }
+        phase = lap(phases, "repositories", phase);
+
+        ServiceGenerator serviceGenerator = new ServiceGenerator();
+        for (int i = 0; i < domain.entities(); i++) {
+            String entity = domain.entityName(i);
+            assertTrue(serviceGenerator.generate(entity + "Service", servicePackage, entity, modelPackage,
+                repositoryPackage, true, true, true, true, null, projectOutput));
+        }
+        phase = lap(phases, "services", phase);
+
+        ControllerGenerator controllerGenerator = new ControllerGenerator();
+        for (int i = 0; i < domain.entities(); i++) {
+            String entity = domain.entityName(i);
+            assertTrue(controllerGenerator.generate(entity + "Controller", BASE_PACKAGE + ".controller", entity,
+                modelPackage, servicePackage, "/api/v1", true, true, true, null, projectOutput));
+        }
+        phase = lap(phases, "controllers", phase);
+
+        SecurityGenerator securityGenerator = new SecurityGenerator();
+        securityGenerator.setPackageName(BASE_PACKAGE + ".security");
+        securityGenerator.setJwtSecret("scale-harness-secret-scale-harness-secret");
+        securityGenerator.setJwtExpiration(86400000L);
+        securityGenerator.setUserEntity(domain.entityName(0));
+        securityGenerator.setUserPackage(modelPackage);
+        securityGenerator.setUserRepositoryPackage(repositoryPackage);
+        securityGenerator.setEnableCors(true);
+        securityGenerator.setOutputDirectory(projectOutput);
+        securityGenerator.generate();
+        lap(phases, "security", phase);
+
+        return projectDir;
+    }
+
+    private static long lap(Map<String, Long> phases, String name, long since) {
+        long now = System.nanoTime();
+        phases.put(name, (now - since) / 1_000_000);
+        return now;
+    }
+
+    private static Path outputRoot(Path tempDir) {
+        String configured = System.getProperty("scale.target");
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured);
+        }
+        Path shm = Path.of("/dev/shm");
+        return Files.isDirectory(shm) && Files.isWritable(shm) ? shm : tempDir;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+    }
+
+    private static long[] countOutput(Path root) throws IOException {
+        long[] result = new long[2];
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                result[0]++;
+                result[1] += file.toFile().length();
+            });
+        }
+        return result;
+    }
+
+    private static long countEntitySources(Path projectDir) throws IOException {
+        Path sources = projectDir.resolve("src/main/java").resolve(BASE_PACKAGE.replace('.', '/'));
+        try (Stream<Path> files = Files.walk(sources)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("Entity")).count();
+        }
+    }
+
+    private static void writeReport(SyntheticDomain domain, Map<String, Long> phases, long wallMillis,
+                                    long peakHeapBytes, long files, long bytes, double filesPerSecond)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        report.put("entities", domain.entities());
+        report.put("fieldsPerEntity", domain.fields());
+        report.put("relationshipsPerEntity", domain.relationships());
+        report.put("files", files);
+        report.put("bytes", bytes);
+        report.put("wallMillis", wallMillis);
+        report.put("filesPerSecond", Math.round(filesPerSecond * 10) / 10.0);
+        report.put("peakHeapBytes", peakHeapBytes);
+        report.put("phaseMillis", phases);
+
+        Path reports = Path.of("target", "scale-reports");
+        Files.createDirectories(reports);
+        Path file = reports.resolve("scale-" + domain.label() + "-" + System.currentTimeMillis() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.scaffold.scale;
+
+import com.scaffold.models.FieldInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic synthetic domain used by the scale harness: {@code entities} entities with
+ * {@code fields} scalar fields each, plus {@code relationships} references to other entities.
+ */
+record SyntheticDomain(int entities, int fields, int relationships) {
+
+    private static final String[] FIELD_TYPES = {
+        "String", "Long", "Integer", "BigDecimal", "Boolean", "LocalDate", "LocalDateTime", "UUID"
+    };
+
+    static SyntheticDomain fromSystemProperties() {
+        return new SyntheticDomain(
+            Integer.getInteger("scale.entities", 100),
+            Integer.getInteger("scale.fields", 8),
+            Integer.getInteger("scale.relationships", 2));
+    }
+
+    String entityName(int index) {
+        return "Entity" + index;
+    }
+
+    List<FieldInfo> fieldsOf(int index) {
+        List<FieldInfo> result = new ArrayList<>(fields + relationships);
+        for (int i = 0; i < fields; i++) {
+            String type = FIELD_TYPES[(index + i) % FIELD_TYPES.length];
+            FieldInfo field = new FieldInfo("field" + i, type, i % 3 == 0);
+            if ("String".equals(type)) {
+                field.setMaxLength(64 + i);
+            }
+            result.add(field);
+        }
+        for (int i = 0; i < relationships && entities > 1; i++) {
+            int target = (index + i + 1) % entities;
+            result.add(new FieldInfo("related" + i, entityName(target)));
+        }
+        return result;
+    }
+
+    String label() {
+        return entities + "x" + fields + "x" + relationships;
+    }
+}
@@ -0,0 +1,142 @@
+package com.scaffold.source;
+
+import com.scaffold.models.EntityInfo;
+import com.scaffold.models.FieldInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the entity scanner and its per-file cache
+ */
+public class EntityScannerTest {
+
+    private static String entity(String packageName, String className, String field) {
+        return String.join("\n",
+            "package " + packageName + ";",
+            "",
+            "@Entity",
+            "public class " + className + " {",
+            "    @Id",
+            "    @GeneratedValue(strategy = GenerationType.SEQUENCE)",
+            "    private Long id;",
+            "    @Column(nullable = false, length = 40)",
+            "    private String " + field + ";",
+            "    @ManyToOne(fetch = FetchType.LAZY)",
+            "    private Customer customer;",
+            "}",
+            "");
+    }
+
+    private static Path write(Path root, String packageName, String className, String source) throws Exception {
+        Path directory = root.resolve("src/main/java").resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        return Files.writeString(directory.resolve(className + ".java"), source);
+    }
+
+    @Test
+    @DisplayName("Scanner should read ID, columns and associations")
+    public void testParsesEntity(@TempDir Path root) throws Exception {
+        write(root, "com.example.model", "Order", entity("com.example.model", "Order", "code"));
+        write(root, "com.example.model", "Helper", "package com.example.model;\n\npublic class Helper {\n}\n");
+
+        Map<String, EntityInfo> entities = new EntityScanner(root).scan();
+
+        assertEquals(List.of("com.example.model.Order"), List.copyOf(entities.keySet()));
+        EntityInfo order = entities.get("com.example.model.Order");
+        assertEquals("id", order.getIdName());
+        assertEquals("Long", order.getIdType());
+        FieldInfo code = order.getFields().get(0);
+        assertEquals("code", code.getName());
+        assertFalse(code.isNullable());
+        assertEquals(40, code.getMaxLength());
+        FieldInfo customer = order.getFields().get(1);
+        assertEquals("ManyToOne", customer.getRelation());
+        assertEquals("Customer", customer.getTarget());
+    }
+
+    @Test
+    @DisplayName("Unchanged files should be served from the cache without being read")
+    public void testCacheHit(@TempDir Path root) throws Exception {
+        Path file = write(root, "com.example.model", "Order", entity("com.example.model", "Order", "code"));
+        FileTime modified = Files.getLastModifiedTime(file);
+        assertEquals("code", fieldOf(new EntityScanner(root).find("Order", "com.example.model")));
+        assertTrue(Files.exists(root.resolve(".spring-scaffold/entity-cache.bin")));
+
+        // Same size and modification time: a fresh scanner must trust the cache and not read the file
+        Files.writeString(file, entity("com.example.model", "Order", "name"));
+        Files.setLastModifiedTime(file, modified);
+        assertEquals("code", fieldOf(new EntityScanner(root).find("Order", "com.example.model")));
+    }
+
+    @Test
+    @DisplayName("Modified and deleted files should invalidate their cache entries")
+    public void testCacheInvalidation(@TempDir Path root) throws Exception {
+        Path file = write(root, "com.example.model", "Order", entity("com.example.model", "Order", "code"));
+        Path other = write(root, "com.example.model", "Invoice", entity("com.example.model", "Invoice", "total"));
+        FileTime modified = Files.getLastModifiedTime(file);
+        assertEquals(2, new EntityScanner(root).scan().size());
+
+        Files.writeString(file, entity("com.example.model", "Order", "name"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+        Files.delete(other);
+
+        Map<String, EntityInfo> entities = new EntityScanner(root).scan();
+        assertEquals(List.of("com.example.model.Order"), List.copyOf(entities.keySet()));
+        assertEquals("name", entities.get("com.example.model.Order").getFields().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Duplicate class names should resolve by package, then by qualified name")
+    public void testDuplicateNames(@TempDir Path root) throws Exception {
+        write(root, "com.example.sales.model", "Order", entity("com.example.sales.model", "Order", "code"));
+        write(root, "com.example.billing.model", "Order", entity("com.example.billing.model", "Order", "total"));
+        EntityScanner scanner = new EntityScanner(root);
+
+        assertEquals("code", fieldOf(scanner.find("Order", "com.example.sales.model")));
+        assertEquals("total", fieldOf(scanner.find("Order", "com.example.billing.model")));
+        assertEquals("com.example.billing.model",
+            scanner.find("Order", "com.example.model").map(EntityInfo::getPackageName).orElseThrow());
+        assertTrue(scanner.find("Customer", "com.example.model").isEmpty());
+    }
+
+    /**
+     * The scanner's target: a warm scan of a 20k file source tree within a second. The default run uses
+     * {@code scanner.files} files; {@code mvn test -Pscale} runs the full 20k.
+     */
+    @Test
+    @DisplayName("A warm scan should stay within the time limit")
+    public void testWarmScanTime(@TempDir Path root) throws Exception {
+        int files = Integer.getInteger("scanner.files", 2000);
+        long maxWarmMillis = Long.getLong("scanner.maxWarmMillis", 1000);
+        for (int i = 0; i < files; i++) {
+            String packageName = "com.example.module" + (i % 50) + ".model";
+            String source = i % 10 == 0
+                ? entity(packageName, "Entity" + i, "field" + i)
+                : "package " + packageName + ";\n\npublic class Type" + i + " {\n    private String value;\n}\n";
+            write(root, packageName, i % 10 == 0 ? "Entity" + i : "Type" + i, source);
+        }
+        assertEquals((files + 9) / 10, new EntityScanner(root).scan().size());
+
+        long start = System.nanoTime();
+        Map<String, EntityInfo> entities = new EntityScanner(root).scan();
+        long warmMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals((files + 9) / 10, entities.size());
+        assertTrue(warmMillis <= maxWarmMillis,
+            "Warm scan of " + files + " files took " + warmMillis + " ms, over " + maxWarmMillis + " ms");
+    }
+
+    private static String fieldOf(Optional<EntityInfo> entity) {
+        return entity.orElseThrow().getFields().get(0).getName();
+    }
+}
@@ -0,0 +1,151 @@
+package com.scaffold.source;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the token-based source patcher
+ */
+public class JavaSourcePatchTest {
+
+    private static final String REPOSITORY = String.join("\n",
+        "package com.example.repository;",
+        "",
+        "import com.example.model.User;",
+        "import org.springframework.data.jpa.repository.JpaRepository;",
+        "",
+        "// } braces in comments and \"strings\" must be ignored",
+        "@Repository",
+        "public interface UserRepository extends JpaRepository<User, Long> {",
+        "",
+        "    @Query(\"SELECT m FROM User m WHERE m.name = '}'\")",
+        "    List<User> findAllOrderByIdDesc();",
+        "}",
+        "");
+
+    private JavaSourcePatch jwtPatch() {
+        return new JavaSourcePatch()
+            .addImport("java.util.Optional")
+            .addImport("com.example.model.User")
+            .addAnnotation("@Repository")
+            .addMethod("findByUsername", "Optional<User> findByUsername(String username);")
+            .addMethod("findAllOrderByIdDesc", "List<User> findAllOrderByIdDesc();");
+    }
+
+    @Test
+    @DisplayName("Patch should add only missing declarations")
+    public void testAddsMissingDeclarations() {
+        String patched = jwtPatch().apply(REPOSITORY);
+
+        assertTrue(patched.contains("import org.springframework.data.jpa.repository.JpaRepository;\nimport java.util.Optional;\n"));
+        assertTrue(patched.contains("    List<User> findAllOrderByIdDesc();\n\n    Optional<User> findByUsername(String username);\n}\n"));
+        assertEquals(1, count(patched, "import com.example.model.User;"));
+        assertEquals(1, count(patched, "@Repository"));
+        assertEquals(1, count(patched, "findAllOrderByIdDesc"));
+    }
+
+    @Test
+    @DisplayName("Applying the same patch twice should not change the file again")
+    public void testIdempotentFilePatch(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("UserRepository.java");
+        Files.writeString(file, REPOSITORY);
+
+        assertTrue(jwtPatch().applyTo(file));
+        String once = Files.readString(file);
+        assertFalse(jwtPatch().applyTo(file));
+        assertEquals(once, Files.readString(file));
+        assertEquals(jwtPatch().apply(REPOSITORY), once);
+    }
+
+    @Test
+    @DisplayName("Fields, annotations and wildcard imports should be detected")
+    public void testFieldsAndAnnotations() {
+        String source = String.join("\n",
+            "package com.example.model;",
+            "",
+            "import jakarta.persistence.*;",
+            "",
+            "@Entity",
+            "public class Order {",
+            "    private Long id;",
+            "    private String code = compute(\"x\");",
+            "}",
+            "");
+
+        String patched = new JavaSourcePatch()
+            .addImport("jakarta.persistence.Version")
+            .addAnnotation("@Table(name = \"orders\")")
+            .addField("version", "@Version\nprivate Long version;")
+            .addField("id", "private Long id;")
+            .addMethod("compute", "private static String compute(String s) {\n    return s;\n}")
+            .apply(source);
+
+        assertFalse(patched.contains("import jakarta.persistence.Version;"));
+        assertTrue(patched.contains("@Entity\n@Table(name = \"orders\")\npublic class Order {\n    @Version\n    private Long version;\n    private Long id;"));
+        assertEquals(1, count(patched, "private Long id;"));
+        assertTrue(patched.contains("    private static String compute(String s) {\n        return s;\n    }\n}"));
+    }
+
+    @Test
+    @DisplayName("Patching a file should splice every insertion in and keep the bytes around them")
+    public void testSplicesFile(@TempDir Path tempDir) throws Exception {
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            padding.append("    // Größe ").append(i).append(" — unverändert\n");
+        }
+        String source = REPOSITORY.replace("\n// }", "\n" + padding + "// }");
+        Path file = tempDir.resolve("UserRepository.java");
+        Files.writeString(file, source);
+
+        assertTrue(jwtPatch().applyTo(file));
+        assertEquals(jwtPatch().apply(source), Files.readString(file));
+    }
+
+    @Test
+    @DisplayName("Enum constants should not count as members")
+    public void testEnumConstants() {
+        String source = String.join("\n",
+            "public enum Role {",
+            "    ADMIN(\"admin\") {",
+            "        String label() { return \"Administrator\"; }",
+            "    },",
+            "    USER(\"user\");",
+            "",
+            "    private final String code;",
+            "",
+            "    Role(String code) {",
+            "        this.code = code;",
+            "    }",
+            "}",
+            "");
+
+        String patched = new JavaSourcePatch()
+            .addField("description", "private String description;")
+            .addMethod("ADMIN", "static Role ADMIN() {\n    return ADMIN;\n}")
+            .addMethod("label", "String label() {\n    return code;\n}")
+            .apply(source);
+
+        assertTrue(patched.contains("    USER(\"user\");\n    private String description;\n"));
+        assertTrue(patched.contains("    static Role ADMIN() {"));
+        assertTrue(patched.contains("    String label() {\n        return code;\n    }\n}"));
+
+        String bare = new JavaSourcePatch()
+            .addField("code", "private String code;")
+            .apply("enum Status { ACTIVE, RETIRED }\n");
+        assertEquals("enum Status { ACTIVE, RETIRED;\n    private String code; }\n", bare);
+    }
+
+    private static int count(String text, String fragment) {
+        int count = 0;
+        for (int i = text.indexOf(fragment); i >= 0; i = text.indexOf(fragment, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,139 @@
+package com.scaffold.templates;
+
+import com.scaffold.generators.SecurityGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content-addressed render cache
+ */
+public class RenderCacheTest {
+
+    @Test
+    @DisplayName("Identical renders should share a key and hit the stored entry")
+    public void testHit(@TempDir Path tempDir) throws Exception {
+        RenderCache cache = new RenderCache(tempDir, RenderCache.DEFAULT_MAX_BYTES);
+        Map<String, Object> context = new LinkedHashMap<>();
+        context.put("modelName", "Order");
+        context.put("fields", List.of("code", "total"));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("fields", List.of("code", "total"));
+        reordered.put("modelName", "Order");
+
+        String key = cache.key("model.java.mustache", "0000beef", context);
+        assertEquals(key, cache.key("model.java.mustache", "0000beef", reordered));
+        assertNull(cache.lookup(key));
+
+        cache.store(key, "class Order {}");
+        Path entry = cache.lookup(key);
+        assertNotNull(entry);
+        assertEquals("class Order {}", Files.readString(entry));
+    }
+
+    @Test
+    @DisplayName("A changed template or context should miss the cache")
+    public void testInvalidation(@TempDir Path tempDir) {
+        RenderCache cache = new RenderCache(tempDir, RenderCache.DEFAULT_MAX_BYTES);
+        Map<String, Object> context = Map.of("modelName", "Order");
+        String key = cache.key("model.java.mustache", "0000beef", context);
+        cache.store(key, "class Order {}");
+
+        assertNull(cache.lookup(cache.key("model.java.mustache", "0000cafe", context)));
+        assertNull(cache.lookup(cache.key("model.java.mustache", "0000beef", Map.of("modelName", "Invoice"))));
+        assertNull(cache.lookup(cache.key("service.java.mustache", "0000beef", context)));
+        assertNotNull(cache.lookup(key));
+    }
+
+    @Test
+    @DisplayName("Templates should be keyed by the SHA-256 of their bytes")
+    public void testTemplateHash() throws Exception {
+        byte[] template;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("templates/jwt-request.java.mustache")) {
+            template = in.readAllBytes();
+        }
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(template));
+
+        assertEquals(expected, new TemplateEngine().getTemplateHash("jwt-request.java.mustache"));
+    }
+
+    @Test
+    @DisplayName("Every store should keep the cache within its size limit, not only the first one")
+    public void testPrunesOnEveryStore(@TempDir Path tempDir) {
+        long limit = 2_000;
+        RenderCache cache = new RenderCache(tempDir, limit);
+        String content = "x".repeat(100);
+
+        for (int i = 0; i < 3 * RenderCache.RECOUNT_INTERVAL; i++) {
+            cache.store(cache.key("model.java.mustache", "0000beef", Map.of("index", i)), content);
+            assertTrue(cache.stats().totalBytes() <= limit, "Cache grew to " + cache.stats().totalBytes() + " bytes");
+        }
+        assertEquals(limit / content.length(), cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Pruning should remove the least recently used entries first")
+    public void testPruneLeastRecentlyUsed(@TempDir Path tempDir) throws Exception {
+        RenderCache cache = new RenderCache(tempDir, RenderCache.DEFAULT_MAX_BYTES);
+        String old = cache.key("a.mustache", "1", Map.of());
+        String recent = cache.key("b.mustache", "1", Map.of());
+        cache.store(old, "old");
+        cache.store(recent, "recent");
+        Files.setLastModifiedTime(cache.lookup(old), FileTime.fromMillis(1_000));
+
+        assertEquals(1, cache.prune(6));
+        assertNull(cache.lookup(old));
+        assertNotNull(cache.lookup(recent));
+        assertEquals(1, cache.prune(0));
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("Engines should only cache when a cache is selected, and never Filer output or files holding the JWT secret")
+    public void testEngineUse(@TempDir Path tempDir) throws Exception {
+        assertNull(TemplateEngine.getRenderCache(), "Library use should not cache by default");
+        RenderCache cache = new RenderCache(tempDir.resolve("cache"), RenderCache.DEFAULT_MAX_BYTES);
+        Map<String, Object> context = Map.of("packageName", "com.example.security");
+
+        TemplateEngine.useRenderCache(cache);
+        try {
+            new TemplateEngine().withoutRenderCache().processTemplate("jwt-request.java.mustache", context);
+            TemplateEngine filer = new TemplateEngine(null, (filePath, content) -> true);
+            assertTrue(filer.renderToFile("jwt-request.java.mustache", context, "src/main/java/JwtRequest.java"));
+            assertEquals(0, cache.stats().entries(), "Engines writing through an output should bypass the cache");
+
+            String rendered = new TemplateEngine().processTemplate("jwt-request.java.mustache", context);
+            assertEquals(1, cache.stats().entries());
+            assertEquals(rendered, new TemplateEngine().processTemplate("jwt-request.java.mustache", context));
+
+            SecurityGenerator security = new SecurityGenerator();
+            security.setPackageName("com.example.security");
+            security.setJwtSecret("render-cache-test-secret-render-cache-test-secret");
+            security.setJwtExpiration(86400000L);
+            security.setUserEntity("User");
+            security.setUserPackage("com.example.model");
+            security.setUserRepositoryPackage("com.example.repository");
+            security.setOutputDirectory(tempDir.resolve("project").toString());
+            security.generate();
+            try (Stream<Path> files = Files.walk(tempDir.resolve("project"))) {
+                assertTrue(files.anyMatch(file -> file.endsWith("JwtUtils.java")));
+            }
+            assertEquals(1, cache.stats().entries(), "Security files should bypass the cache");
+        } finally {
+            TemplateEngine.useRenderCache(null);
+        }
+    }
+}
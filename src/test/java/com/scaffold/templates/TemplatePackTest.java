@@ -0,0 +1,163 @@
+package com.scaffold.templates;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reading templates out of a pack archive
+ */
+public class TemplatePackTest {
+
+    private static final String DEFLATED = "templates/model.java.mustache";
+    private static final String STORED = "templates/stored.mustache";
+    private static final String STORED_CONTENT = "stored {{name}} template";
+
+    private static String deflatedContent() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("private {{type}} field").append(i).append(";\n");
+        }
+        return content.toString();
+    }
+
+    @Test
+    @DisplayName("Stored and deflated entries should read back unchanged")
+    public void testRoundTrip(@TempDir Path tempDir) throws Exception {
+        TemplatePack pack = TemplatePack.open(write(tempDir, pack()));
+
+        assertEquals(deflatedContent(), pack.readString("model.java.mustache"));
+        assertEquals(STORED_CONTENT, pack.readString("stored.mustache"));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+            .digest(STORED_CONTENT.getBytes(StandardCharsets.UTF_8))), pack.getHash("stored.mustache"));
+        assertNull(pack.getHash("missing.mustache"));
+        assertNull(pack.read("missing.mustache"));
+    }
+
+    @Test
+    @DisplayName("An entry whose bytes do not match its CRC-32 should fail to read")
+    public void testCorruptedEntry(@TempDir Path tempDir) throws Exception {
+        byte[] archive = pack();
+        int data = indexOf(archive, STORED_CONTENT.getBytes(StandardCharsets.UTF_8));
+        archive[data] ^= 0x20;
+        TemplatePack pack = TemplatePack.open(write(tempDir, archive));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> pack.read("stored.mustache"));
+        assertTrue(error.getMessage().contains("CRC mismatch"));
+        assertEquals(deflatedContent(), pack.readString("model.java.mustache"));
+    }
+
+    @Test
+    @DisplayName("A deflated entry cut short should fail instead of returning zero-padded bytes")
+    public void testTruncatedEntry(@TempDir Path tempDir) throws Exception {
+        byte[] archive = pack();
+        ByteBuffer buffer = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+        int directory = centralDirectoryEntry(archive, DEFLATED);
+        buffer.putInt(directory + 20, buffer.getInt(directory + 20) / 2);
+        TemplatePack pack = TemplatePack.open(write(tempDir, archive));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> pack.read("model.java.mustache"));
+        assertTrue(error.getMessage().contains("Truncated"));
+    }
+
+    @Test
+    @DisplayName("An entry shorter than its recorded length should fail to read")
+    public void testLengthMismatch(@TempDir Path tempDir) throws Exception {
+        byte[] archive = pack();
+        ByteBuffer buffer = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+        int directory = centralDirectoryEntry(archive, DEFLATED);
+        buffer.putInt(directory + 24, buffer.getInt(directory + 24) + 16);
+        TemplatePack pack = TemplatePack.open(write(tempDir, archive));
+
+        assertThrows(IllegalStateException.class, () -> pack.read("model.java.mustache"));
+    }
+
+    @Test
+    @DisplayName("Reopening an archive should reuse its mapping until the file changes")
+    public void testReopenChangedArchive(@TempDir Path tempDir) throws Exception {
+        Path archive = write(tempDir, pack());
+        TemplatePack pack = TemplatePack.open(archive);
+        assertSame(pack, TemplatePack.open(archive));
+
+        Path replacement = Files.write(tempDir.resolve("replacement.zip"), pack("changed {{name}} template"));
+        Files.move(replacement, archive, StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(archive, FileTime.fromMillis(Files.getLastModifiedTime(archive).toMillis() + 2000));
+
+        TemplatePack reopened = TemplatePack.open(archive);
+        assertNotSame(pack, reopened);
+        assertEquals("changed {{name}} template", reopened.readString("stored.mustache"));
+    }
+
+    private static byte[] pack() throws Exception {
+        return pack(STORED_CONTENT);
+    }
+
+    private static byte[] pack(String storedContent) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry(DEFLATED));
+            zip.write(deflatedContent().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+
+            byte[] stored = storedContent.getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(stored);
+            ZipEntry entry = new ZipEntry(STORED);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(stored.length);
+            entry.setCrc(crc.getValue());
+            zip.putNextEntry(entry);
+            zip.write(stored);
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Path write(Path directory, byte[] archive) throws Exception {
+        return Files.write(directory.resolve("templates.zip"), archive);
+    }
+
+    private static int centralDirectoryEntry(byte[] archive, String name) {
+        byte[] signature = {0x50, 0x4b, 0x01, 0x02};
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        for (int position = indexOf(archive, signature, 0); position >= 0; position = indexOf(archive, signature, position + 1)) {
+            if (indexOf(archive, nameBytes, position + 46) == position + 46) {
+                return position;
+            }
+        }
+        throw new AssertionError("No central directory entry for " + name);
+    }
+
+    private static int indexOf(byte[] archive, byte[] target) {
+        return indexOf(archive, target, 0);
+    }
+
+    private static int indexOf(byte[] archive, byte[] target, int from) {
+        outer:
+        for (int i = from; i <= archive.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (archive[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}